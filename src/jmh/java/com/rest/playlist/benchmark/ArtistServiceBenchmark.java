@@ -0,0 +1,62 @@
+package com.rest.playlist.benchmark;
+
+import com.rest.playlist.model.Artist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations of ArtistServiceImpl, through the transactional proxy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtistServiceBenchmark {
+
+    /**
+     * a new artist without songs for each invocation of deleteArtist, created outside of the measure
+     */
+    @State(Scope.Thread)
+    public static class ArtistToDelete {
+        Long id;
+
+        @Setup(Level.Invocation)
+        public void create(PlaylistState state) {
+            id = state.artistService.createArtist(PlaylistState.newArtist("Deleted artist")).getId();
+        }
+    }
+
+    @Benchmark
+    public Artist getArtistById(PlaylistState state) {
+        return state.artistService.getArtistById(state.randomArtist().getId());
+    }
+
+    @Benchmark
+    public Artist createArtist(PlaylistState state) {
+        return state.artistService.createArtist(PlaylistState.newArtist("Created artist"));
+    }
+
+    @Benchmark
+    public Artist updateArtist(PlaylistState state) {
+        Artist artist = PlaylistState.newArtist(state.randomArtist().getName());
+        artist.setId(state.randomArtist().getId());
+        return state.artistService.updateArtist(artist);
+    }
+
+    @Benchmark
+    public void deleteArtist(PlaylistState state, ArtistToDelete artist) {
+        state.artistService.deleteArtistById(artist.id);
+    }
+}
@@ -0,0 +1,107 @@
+package com.rest.playlist.benchmark;
+
+import com.rest.playlist.search.NameSearchHit;
+import com.rest.playlist.search.NameSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top 10 of the name search index, without Spring nor database : one name per song and one per 100 songs for artists.
+ * The names are made of random syllables (a consonant, a vowel and sometimes a final consonant) :
+ * about 2500 syllables, so that the words and trigrams are spread as in real titles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class NameSearchIndexBenchmark {
+
+    private static final String CONSONANTS = "bcdfghjklmnpqrstvwxz";
+    private static final String VOWELS = "aeiouy";
+    private static final int LIMIT = 10;
+    private static final double MIN_SIMILARITY = 0.3;
+
+    @Param({"100000"})
+    public int songs;
+
+    private NameSearchIndex index;
+    private String[] names;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        index = new NameSearchIndex();
+        names = new String[songs];
+        for (int i = 0; i < songs; i++) {
+            names[i] = name(random, 1 + random.nextInt(3));
+            index.put(NameSearchIndex.Type.SONG, i, names[i], (long) i / 100);
+        }
+        for (int i = 0; i < songs / 100; i++) {
+            index.put(NameSearchIndex.Type.ARTIST, i, name(random, 2), (long) i);
+        }
+    }
+
+    /**
+     * the first 4 letters of a name
+     */
+    @Benchmark
+    public List<NameSearchHit> prefix() {
+        String name = randomName();
+        return index.search(name.substring(0, Math.min(4, name.length())), null, LIMIT, MIN_SIMILARITY);
+    }
+
+    /**
+     * a name with two letters swapped
+     */
+    @Benchmark
+    public List<NameSearchHit> typo() {
+        char[] name = randomName().toCharArray();
+        int i = ThreadLocalRandom.current().nextInt(name.length - 1);
+        char swapped = name[i];
+        name[i] = name[i + 1];
+        name[i + 1] = swapped;
+        return index.search(new String(name), null, LIMIT, MIN_SIMILARITY);
+    }
+
+    private String randomName() {
+        return names[ThreadLocalRandom.current().nextInt(names.length)];
+    }
+
+    private static String name(Random random, int words) {
+        StringBuilder name = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                name.append(' ');
+            }
+            int syllables = 2 + random.nextInt(2);
+            for (int s = 0; s < syllables; s++) {
+                name.append(CONSONANTS.charAt(random.nextInt(CONSONANTS.length())))
+                        .append(VOWELS.charAt(random.nextInt(VOWELS.length())));
+                if (random.nextInt(3) == 0) {
+                    name.append(CONSONANTS.charAt(random.nextInt(CONSONANTS.length())));
+                }
+            }
+            if (w == 0) {
+                name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+            }
+        }
+        return name.toString();
+    }
+}
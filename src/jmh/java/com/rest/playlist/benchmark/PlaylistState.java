@@ -0,0 +1,115 @@
+package com.rest.playlist.benchmark;
+
+import com.rest.playlist.PlaylistApplication;
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.repository.SongRepository;
+import com.rest.playlist.service.IArtistService;
+import com.rest.playlist.service.ISongService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * PlaylistState boots the application once per trial against an embedded H2 database
+ * (PostgreSQL mode, overridable with -Dplaylist.benchmark.url) and loads the data set :
+ * "songs" songs spread over songs / 100 artists.
+ */
+@State(Scope.Benchmark)
+public class PlaylistState {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int SONGS_PER_ARTIST = 100;
+
+    @Param({"1000"})
+    public int songs;
+
+    ConfigurableApplicationContext context;
+    ISongService songService;
+    IArtistService artistService;
+    SongRepository songRepository;
+    ArtistRepository artistRepository;
+
+    final List<Long> songIds = new ArrayList<>();
+    final List<Artist> artists = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(PlaylistApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + System.getProperty("playlist.benchmark.url",
+                        "jdbc:h2:mem:playlist_benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"),
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--spring.jpa.properties.hibernate.search.backend.directory.type=local-heap",
+                "--playlist.sql-stats.enabled=false",
+                "--logging.level.root=WARN");
+        songService = context.getBean(ISongService.class);
+        artistService = context.getBean(IArtistService.class);
+        songRepository = context.getBean(SongRepository.class);
+        artistRepository = context.getBean(ArtistRepository.class);
+
+        int artistCount = Math.max(1, songs / SONGS_PER_ARTIST);
+        for (int i = 0; i < artistCount; i++) {
+            artists.add(artistService.createArtist(newArtist("Artist " + i)));
+        }
+
+        List<Song> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < songs; i++) {
+            chunk.add(newSong("Song " + i, SongCategory.values()[i % SongCategory.values().length],
+                    artists.get(i % artistCount)));
+            if (chunk.size() == CHUNK_SIZE || i == songs - 1) {
+                songService.createSongs(chunk).forEach(song -> songIds.add(song.getId()));
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    Long randomSongId() {
+        return songIds.get(ThreadLocalRandom.current().nextInt(songIds.size()));
+    }
+
+    Artist randomArtist() {
+        return artists.get(ThreadLocalRandom.current().nextInt(artists.size()));
+    }
+
+    SongCategory randomCategory() {
+        return SongCategory.values()[ThreadLocalRandom.current().nextInt(SongCategory.values().length)];
+    }
+
+    static Artist newArtist(String name) {
+        Artist artist = new Artist();
+        artist.setName(name);
+        artist.setPopularity(50L);
+        return artist;
+    }
+
+    static Song newSong(String title, SongCategory category, Artist artist) {
+        Artist reference = new Artist();
+        reference.setId(artist.getId());
+
+        Song song = new Song();
+        song.setTitle(title);
+        song.setDescription("Benchmark song");
+        song.setCategory(category);
+        song.setDuration("3:30");
+        song.setArtist(reference);
+        return song;
+    }
+}
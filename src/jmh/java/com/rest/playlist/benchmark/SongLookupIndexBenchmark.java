@@ -0,0 +1,93 @@
+package com.rest.playlist.benchmark;
+
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.SongKeysView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Song lookups with and without the indexes of the migration V3__song_lookup_indexes :
+ * with indexes=false they are dropped before the trial (the schema of ddl-auto=update), and created again after it.
+ * H2 indexes the foreign key songs.artist_id by itself : run against PostgreSQL (-Dplaylist.benchmark.url=...)
+ * to see the artist lookups before the migration.
+ * A whole category is a third of the table, it is read by a scan with or without index :
+ * the index on (category, id) serves the chunks of the bulk operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SongLookupIndexBenchmark {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @State(Scope.Benchmark)
+    public static class Indexes {
+
+        private static final String[] CREATE_INDEXES = {
+                "create index if not exists idx_songs_category_id on songs (category, id)",
+                "create index if not exists idx_songs_artist_id_id on songs (artist_id, id)",
+                "create index if not exists idx_artist_name on artist (name)"};
+
+        private static final String[] DROP_INDEXES = {
+                "drop index if exists idx_songs_category_id",
+                "drop index if exists idx_songs_artist_id_id",
+                "drop index if exists idx_artist_name"};
+
+        @Param({"true", "false"})
+        public boolean indexes;
+
+        JdbcTemplate jdbcTemplate;
+
+        @Setup(Level.Trial)
+        public void setup(PlaylistState state) {
+            jdbcTemplate = state.context.getBean(JdbcTemplate.class);
+            jdbcTemplate.batchUpdate(indexes ? CREATE_INDEXES : DROP_INDEXES);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            jdbcTemplate.batchUpdate(CREATE_INDEXES);
+        }
+    }
+
+    @Benchmark
+    public List<Song> findSongsByArtistName(PlaylistState state, Indexes indexes) {
+        return state.songRepository.findSongsByArtist_Name(state.randomArtist().getName());
+    }
+
+    /**
+     * a chunk of a bulk operation on the songs of an artist
+     */
+    @Benchmark
+    public List<SongKeysView> findSongKeysOfArtist(PlaylistState state, Indexes indexes) {
+        return state.songRepository.findSongKeysByFilterAfter(state.randomArtist().getId(), null, 0L,
+                PageRequest.of(0, CHUNK_SIZE));
+    }
+
+    /**
+     * a chunk of a bulk operation on a category, from a random position
+     */
+    @Benchmark
+    public List<SongKeysView> findSongKeysOfCategory(PlaylistState state, Indexes indexes) {
+        return state.songRepository.findSongKeysByFilterAfter(null, state.randomCategory(), state.randomSongId(),
+                PageRequest.of(0, CHUNK_SIZE));
+    }
+}
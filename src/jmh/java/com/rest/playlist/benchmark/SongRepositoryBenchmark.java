@@ -0,0 +1,48 @@
+package com.rest.playlist.benchmark;
+
+import com.rest.playlist.model.Song;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries of SongRepository, without the service layer (no result cache, no event).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SongRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Benchmark
+    public Optional<Song> findById(PlaylistState state) {
+        return state.songRepository.findById(state.randomSongId());
+    }
+
+    @Benchmark
+    public List<Song> findSongsByCategory(PlaylistState state) {
+        return state.songRepository.findSongsByCategory(state.randomCategory());
+    }
+
+    @Benchmark
+    public List<Song> findSongsByArtistName(PlaylistState state) {
+        return state.songRepository.findSongsByArtist_Name(state.randomArtist().getName());
+    }
+
+    @Benchmark
+    public List<Song> findSongsPageAfter(PlaylistState state) {
+        return state.songRepository.findSongsByIdGreaterThanOrderByIdAsc(state.randomSongId(), PageRequest.of(0, PAGE_SIZE));
+    }
+}
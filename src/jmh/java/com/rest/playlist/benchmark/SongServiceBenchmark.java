@@ -0,0 +1,75 @@
+package com.rest.playlist.benchmark;
+
+import com.rest.playlist.model.Song;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operations of SongServiceImpl, through the transactional proxy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SongServiceBenchmark {
+
+    /**
+     * a new song for each invocation of deleteSong, created outside of the measure
+     */
+    @State(Scope.Thread)
+    public static class SongToDelete {
+        Long id;
+
+        @Setup(Level.Invocation)
+        public void create(PlaylistState state) {
+            id = state.songService.createSong(
+                    PlaylistState.newSong("Deleted song", state.randomCategory(), state.randomArtist())).getId();
+        }
+    }
+
+    @Benchmark
+    public Song getSongById(PlaylistState state) {
+        return state.songService.getSongById(state.randomSongId());
+    }
+
+    @Benchmark
+    public List<Song> getSongsByCategory(PlaylistState state) {
+        return state.songService.getSongsByCategory(state.randomCategory().name());
+    }
+
+    @Benchmark
+    public List<Song> getSongsByArtistName(PlaylistState state) {
+        return state.songService.getSongsByArtistName(state.randomArtist().getName());
+    }
+
+    @Benchmark
+    public Song createSong(PlaylistState state) {
+        return state.songService.createSong(
+                PlaylistState.newSong("Created song", state.randomCategory(), state.randomArtist()));
+    }
+
+    @Benchmark
+    public Song updateSong(PlaylistState state) {
+        Song song = PlaylistState.newSong("Updated song", state.randomCategory(), state.randomArtist());
+        song.setId(state.randomSongId());
+        return state.songService.updateSong(song);
+    }
+
+    @Benchmark
+    public void deleteSong(PlaylistState state, SongToDelete song) {
+        state.songService.deleteSongById(song.id);
+    }
+}
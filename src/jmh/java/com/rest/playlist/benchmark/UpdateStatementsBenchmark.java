@@ -0,0 +1,147 @@
+package com.rest.playlist.benchmark;
+
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.web.sqlstats.SqlStats;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Statements per update : the dirty-checked updates of SongServiceImpl / ArtistServiceImpl
+ * against the former path (find the artist, find the song, merge the request body with saveAndFlush).
+ * The "statements", "selects" and "operations" counters are totals per iteration,
+ * statements / operations is the number of JDBC statements of one update (Envers statements included).
+ * With coldCache=true the second-level cache is emptied before each update : the reads of the former path
+ * are only visible when the song and the artist are not cached.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UpdateStatementsBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Updates {
+
+        @Param({"false", "true"})
+        public boolean coldCache;
+
+        TransactionTemplate transactionTemplate;
+        Cache cache;
+
+        @Setup(Level.Trial)
+        public void setup(PlaylistState state) {
+            transactionTemplate = new TransactionTemplate(state.context.getBean(PlatformTransactionManager.class));
+            cache = state.context.getBean(EntityManagerFactory.class).getCache();
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Statements {
+        public long statements;
+        public long selects;
+        public long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            selects = 0;
+            operations = 0;
+        }
+
+        /**
+         * the cache is emptied here : reading the song to update fills it again
+         */
+        <T> T count(Updates updates, Supplier<T> update) {
+            if (updates.coldCache) {
+                updates.cache.evictAll();
+            }
+            SqlStats stats = SqlStats.begin();
+            try {
+                return update.get();
+            } finally {
+                SqlStats.end();
+                statements += stats.getStatements();
+                selects += stats.getSelects().values().stream().mapToInt(Integer::intValue).sum();
+                operations++;
+            }
+        }
+    }
+
+    @Benchmark
+    public Song updateSong(PlaylistState state, Updates updates, Statements statements) {
+        Song song = songUpdate(state);
+        return statements.count(updates, () -> state.songService.updateSong(song));
+    }
+
+    @Benchmark
+    public Song mergeUpdateSong(PlaylistState state, Updates updates, Statements statements) {
+        Song song = songUpdate(state);
+        return statements.count(updates, () -> updates.transactionTemplate.execute(status -> {
+            state.artistRepository.findById(song.getArtist().getId()).orElseThrow(IllegalStateException::new);
+            Song searchedSong = state.songRepository.findById(song.getId()).orElseThrow(IllegalStateException::new);
+            searchedSong.setTitle(song.getTitle());
+            searchedSong.setDescription(song.getDescription());
+            searchedSong.setCategory(song.getCategory());
+            searchedSong.setDuration(song.getDuration());
+            return state.songRepository.saveAndFlush(song);
+        }));
+    }
+
+    @Benchmark
+    public Artist updateArtist(PlaylistState state, Updates updates, Statements statements) {
+        Artist artist = artistUpdate(state);
+        return statements.count(updates, () -> state.artistService.updateArtist(artist));
+    }
+
+    @Benchmark
+    public Artist mergeUpdateArtist(PlaylistState state, Updates updates, Statements statements) {
+        Artist artist = artistUpdate(state);
+        return statements.count(updates, () -> updates.transactionTemplate.execute(status -> {
+            Artist searchedArtist = state.artistRepository.findById(artist.getId()).orElseThrow(IllegalStateException::new);
+            searchedArtist.setName(artist.getName());
+            searchedArtist.setPopularity(artist.getPopularity());
+            return state.artistRepository.saveAndFlush(artist);
+        }));
+    }
+
+    /**
+     * only the title changes, the song keeps its artist
+     */
+    private static Song songUpdate(PlaylistState state) {
+        Song current = state.songService.getSongById(state.randomSongId());
+        Song song = PlaylistState.newSong("Updated song " + System.nanoTime(), current.getCategory(), current.getArtist());
+        song.setId(current.getId());
+        song.setDescription(current.getDescription());
+        song.setDuration(current.getDuration());
+        return song;
+    }
+
+    private static Artist artistUpdate(PlaylistState state) {
+        Artist current = state.randomArtist();
+        Artist artist = PlaylistState.newArtist(current.getName());
+        artist.setId(current.getId());
+        artist.setPopularity((long) (System.nanoTime() % 101));
+        return artist;
+    }
+}
@@ -0,0 +1,20 @@
+package com.rest.playlist.loadtest;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Source of the application started by LoadTest : the schema is dropped then migrated again on start,
+ * so each run seeds an empty database. H2 in memory outlives the application (DB_CLOSE_DELAY=-1)
+ * and the runs of ThreadModeComparison share it ; playlist.loadtest.url must point to a dedicated database.
+ */
+class FreshSchema {
+
+    @Bean
+    FlywayMigrationStrategy cleanMigrateStrategy() {
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
@@ -0,0 +1,180 @@
+package com.rest.playlist.loadtest;
+
+import lombok.Getter;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyReport records the latency of each operation in microseconds (3 significant digits,
+ * up to one minute) and compares p50/p99/p999 and the throughput with the baseline file :
+ * "<operation>.p99=<micros>", "<operation>.throughput=<requests per second>".
+ */
+class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long nanos, boolean success) {
+        histograms.get(operation).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void reset() {
+        histograms.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    List<Result> results(long elapsedNanos) {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        List<Result> results = new ArrayList<>();
+        histograms.forEach((operation, histogram) -> {
+            if (histogram.getTotalCount() > 0) {
+                results.add(new Result(operation, histogram, errors.get(operation).sum(), seconds));
+            }
+        });
+        return results;
+    }
+
+    void print(String title, List<Result> results) {
+        System.out.println("== " + title);
+        System.out.printf("%-16s %10s %8s %12s %10s %10s %10s %10s%n",
+                "operation", "count", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Result result : results) {
+            System.out.printf("%-16s %10d %8d %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    result.getOperation(), result.getCount(), result.getErrors(), result.getThroughput(),
+                    result.getP50() / 1000.0, result.getP99() / 1000.0, result.getP999() / 1000.0, result.getMax() / 1000.0);
+        }
+    }
+
+    /**
+     * throughput and p99 of each operation of the first run, side by side with the other runs
+     */
+    static void printComparison(Map<String, List<Result>> runs) {
+        StringBuilder header = new StringBuilder(String.format("%-16s", "operation"));
+        runs.keySet().forEach(run -> header.append(String.format(" %16s %16s", run + " req/s", run + " p99")));
+        System.out.println(header);
+        for (Result result : runs.values().iterator().next()) {
+            StringBuilder row = new StringBuilder(String.format("%-16s", result.getOperation()));
+            runs.values().forEach(results -> {
+                Result other = results.stream()
+                        .filter(candidate -> candidate.getOperation().equals(result.getOperation()))
+                        .findFirst()
+                        .orElse(null);
+                row.append(other == null ? String.format(" %16s %16s", "-", "-")
+                        : String.format(" %16.1f %13.2f ms", other.getThroughput(), other.getP99() / 1000.0));
+            });
+            System.out.println(row);
+        }
+    }
+
+    void write(List<Result> results, File file) throws IOException {
+        file.getParentFile().mkdirs();
+        LoadTestClient.MAPPER.writerWithDefaultPrettyPrinter()
+                .writeValue(file, Collections.singletonMap("operations", results));
+    }
+
+    void writeBaseline(List<Result> results, File file) throws IOException {
+        file.getParentFile().mkdirs();
+        try (PrintWriter out = new PrintWriter(file, StandardCharsets.UTF_8.name())) {
+            out.println("# Load test baseline : latencies in microseconds, throughput in requests per second");
+            for (Result result : results) {
+                out.println(result.getOperation() + ".p50=" + result.getP50());
+                out.println(result.getOperation() + ".p99=" + result.getP99());
+                out.println(result.getOperation() + ".p999=" + result.getP999());
+                out.println(result.getOperation() + ".throughput=" + Math.round(result.getThroughput()));
+            }
+        }
+        System.out.println("Baseline written to " + file);
+    }
+
+    /**
+     * @return false when an operation failed, or when a percentile (resp. the throughput) is more than
+     * tolerance above (resp. below) its baseline ; operations missing from the baseline are not compared
+     */
+    boolean compare(List<Result> results, File file, double tolerance) throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            baseline.load(in);
+        }
+
+        boolean passed = true;
+        for (Result result : results) {
+            if (result.getErrors() > 0) {
+                System.out.println("FAILED " + result.getOperation() + " : " + result.getErrors() + " errors");
+                passed = false;
+            }
+            passed &= checkAbove(baseline, result.getOperation() + ".p50", result.getP50(), tolerance);
+            passed &= checkAbove(baseline, result.getOperation() + ".p99", result.getP99(), tolerance);
+            passed &= checkAbove(baseline, result.getOperation() + ".p999", result.getP999(), tolerance);
+
+            String throughput = baseline.getProperty(result.getOperation() + ".throughput");
+            if (throughput != null && result.getThroughput() < Double.parseDouble(throughput) * (1 - tolerance)) {
+                System.out.printf("FAILED %s.throughput : %.1f req/s, baseline %s req/s%n",
+                        result.getOperation(), result.getThroughput(), throughput);
+                passed = false;
+            }
+        }
+        System.out.println(passed ? "Load test within the baseline" : "Load test drifted past the baseline " + file);
+        return passed;
+    }
+
+    private static boolean checkAbove(Properties baseline, String key, long micros, double tolerance) {
+        String value = baseline.getProperty(key);
+        if (value != null && micros > Long.parseLong(value) * (1 + tolerance)) {
+            System.out.printf("FAILED %s : %d us, baseline %s us%n", key, micros, value);
+            return false;
+        }
+        return true;
+    }
+
+    @Getter
+    static class Result {
+        private final String operation;
+        private final String request;
+        private final long count;
+        private final long errors;
+        private final double throughput;
+        private final long p50;
+        private final long p99;
+        private final long p999;
+        private final long max;
+
+        Result(Operation operation, Histogram histogram, long errors, double seconds) {
+            this.operation = operation.getKey();
+            this.request = operation.getRequest();
+            this.count = histogram.getTotalCount();
+            this.errors = errors;
+            this.throughput = count / seconds;
+            this.p50 = histogram.getValueAtPercentile(50);
+            this.p99 = histogram.getValueAtPercentile(99);
+            this.p999 = histogram.getValueAtPercentile(99.9);
+            this.max = histogram.getMaxValue();
+        }
+    }
+}
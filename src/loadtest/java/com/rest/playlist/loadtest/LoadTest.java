@@ -0,0 +1,155 @@
+package com.rest.playlist.loadtest;
+
+import com.rest.playlist.PlaylistApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * LoadTest starts PlaylistApplication on a random port against an embedded H2 database,
+ * seeds "songs" songs, then drives the REST endpoints with "threads" clients picking
+ * their operation from a weighted mix (see Operation).
+ * Latencies are recorded in HdrHistograms after the warmup; with a target rate the
+ * clients follow a fixed schedule and the latency is measured from the intended start,
+ * so a stalled server is not hidden by the clients waiting for it (coordinated omission).
+ * The report is written as JSON and compared with the baseline file : the process exits
+ * with 1 when a percentile or the throughput of an operation drifts past the tolerance.
+ * All the settings are system properties "playlist.loadtest.*" (see the loadtest profile of the pom),
+ * playlist.loadtest.url runs it against another database than H2 (dropped on start, see FreshSchema).
+ */
+public final class LoadTest {
+
+    private static final int SONGS_PER_ARTIST = 100;
+
+    private final int songs = Integer.getInteger("playlist.loadtest.songs", 10000);
+    private final int threads = Integer.getInteger("playlist.loadtest.threads", 8);
+    private final double rate = Double.parseDouble(System.getProperty("playlist.loadtest.rate", "0"));
+    private final long warmupSeconds = Long.getLong("playlist.loadtest.warmup", 10);
+    private final long durationSeconds = Long.getLong("playlist.loadtest.duration", 30);
+    private final Map<Operation, Integer> mix = Operation.parseMix(System.getProperty("playlist.loadtest.mix",
+            "getSong:40,listSongs:15,songsByCategory:5,songsByArtist:15,getArtist:10,createSong:5,updateSong:5,deleteSong:5"));
+    private final File baseline = new File(System.getProperty("playlist.loadtest.baseline",
+            "src/loadtest/resources/loadtest-baseline.properties"));
+    private final double tolerance = Double.parseDouble(System.getProperty("playlist.loadtest.tolerance", "0.5"));
+    private final boolean updateBaseline = Boolean.getBoolean("playlist.loadtest.update-baseline");
+    private final File result = new File(System.getProperty("playlist.loadtest.result", "target/loadtest-result.json"));
+
+    private final LatencyReport report = new LatencyReport();
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    public static void main(String[] args) throws Exception {
+        System.exit(new LoadTest().run() ? 0 : 1);
+    }
+
+    private boolean run() throws Exception {
+        List<LatencyReport.Result> results = measure("load test");
+        report.write(results, result);
+        if (updateBaseline) {
+            report.writeBaseline(results, baseline);
+            return true;
+        }
+        return report.compare(results, baseline, tolerance);
+    }
+
+    /**
+     * starts the application with the given extra arguments on an empty schema, seeds it,
+     * drives the load and prints the results under the given title
+     */
+    List<LatencyReport.Result> measure(String title, String... applicationArgs) throws Exception {
+        List<String> args = new ArrayList<>(Arrays.asList(
+                "--server.port=0",
+                "--spring.datasource.url=" + System.getProperty("playlist.loadtest.url",
+                        "jdbc:h2:mem:playlist_loadtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1"),
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--spring.jpa.properties.hibernate.search.backend.directory.type=local-heap",
+                "--spring.cache.type=caffeine",
+                "--playlist.response-cache.enabled=true",
+                "--playlist.sql-stats.enabled=false",
+                "--logging.level.root=WARN"));
+        args.addAll(Arrays.asList(applicationArgs));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PlaylistApplication.class, FreshSchema.class)
+                .run(args.toArray(new String[0]));
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestClient client = new LoadTestClient("http://localhost:" + port);
+            LoadTestData data = LoadTestData.seed(client, songs, Math.max(1, songs / SONGS_PER_ARTIST));
+
+            long elapsedNanos = drive(client, data);
+
+            List<LatencyReport.Result> results = report.results(elapsedNanos);
+            report.print(title, results);
+            return results;
+        } finally {
+            context.close();
+        }
+    }
+
+    private long drive(LoadTestClient client, LoadTestData data) throws InterruptedException {
+        List<Operation> weighted = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+
+        List<Thread> clients = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(() -> clientLoop(client, data, weighted), "loadtest-client-" + i);
+            thread.start();
+            clients.add(thread);
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        report.reset();
+        measuring = true;
+        long start = System.nanoTime();
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        measuring = false;
+        long elapsed = System.nanoTime() - start;
+        running = false;
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        return elapsed;
+    }
+
+    private void clientLoop(LoadTestClient client, LoadTestData data, List<Operation> weighted) {
+        long interval = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * threads / rate) : 0;
+        long intendedStart = System.nanoTime();
+        while (running) {
+            Operation operation = weighted.get(ThreadLocalRandom.current().nextInt(weighted.size()));
+            long start;
+            if (interval > 0) {
+                intendedStart += interval;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                start = intendedStart;
+            } else {
+                start = System.nanoTime();
+            }
+
+            boolean success;
+            try {
+                success = operation.execute(client, data);
+            } catch (Exception e) {
+                success = false;
+            }
+            if (measuring) {
+                report.record(operation, System.nanoTime() - start, success);
+            }
+        }
+    }
+}
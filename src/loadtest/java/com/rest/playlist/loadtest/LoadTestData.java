@@ -0,0 +1,99 @@
+package com.rest.playlist.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Songs and artists seeded through the REST API before the run. The seeded songs are only
+ * read or updated, the songs created during the run are the ones deleted.
+ */
+class LoadTestData {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] CATEGORIES = {"JAZZ", "CLASSICAL", "POP"};
+
+    private final long[] artistIds;
+    private final String[] artistNames;
+    private final long[] songIds;
+    private final Queue<Long> created = new ConcurrentLinkedQueue<>();
+
+    private LoadTestData(long[] artistIds, String[] artistNames, long[] songIds) {
+        this.artistIds = artistIds;
+        this.artistNames = artistNames;
+        this.songIds = songIds;
+    }
+
+    static LoadTestData seed(LoadTestClient client, int songs, int artists) throws IOException {
+        long[] artistIds = new long[artists];
+        String[] artistNames = new String[artists];
+        for (int i = 0; i < artists; i++) {
+            Map<String, Object> artist = new LinkedHashMap<>();
+            artist.put("name", "Artist-" + i);
+            artist.put("popularity", 50);
+            artistIds[i] = client.send("POST", "/api/artists", artist).id();
+            artistNames[i] = "Artist-" + i;
+        }
+
+        LoadTestData data = new LoadTestData(artistIds, artistNames, new long[songs]);
+        List<Object> batch = new ArrayList<>(BATCH_SIZE);
+        int seeded = 0;
+        for (int i = 0; i < songs; i++) {
+            batch.add(data.song(null, "Song " + i, CATEGORIES[i % CATEGORIES.length], artistIds[i % artists]));
+            if (batch.size() == BATCH_SIZE || i == songs - 1) {
+                for (JsonNode song : client.send("POST", "/api/songs/batch", batch).json()) {
+                    data.songIds[seeded++] = song.get("id").asLong();
+                }
+                batch.clear();
+            }
+        }
+        return data;
+    }
+
+    long randomSongId() {
+        return songIds[ThreadLocalRandom.current().nextInt(songIds.length)];
+    }
+
+    long randomArtistId() {
+        return artistIds[ThreadLocalRandom.current().nextInt(artistIds.length)];
+    }
+
+    String randomArtistName() {
+        return artistNames[ThreadLocalRandom.current().nextInt(artistNames.length)];
+    }
+
+    String randomCategory() {
+        return CATEGORIES[ThreadLocalRandom.current().nextInt(CATEGORIES.length)];
+    }
+
+    Map<String, Object> newSong(Long id, String title) {
+        return song(id, title, randomCategory(), randomArtistId());
+    }
+
+    void created(Long id) {
+        created.add(id);
+    }
+
+    Long pollCreated() {
+        return created.poll();
+    }
+
+    private Map<String, Object> song(Long id, String title, String category, long artistId) {
+        Map<String, Object> song = new LinkedHashMap<>();
+        song.put("id", id);
+        song.put("title", title);
+        song.put("description", "Load test song");
+        song.put("category", category);
+        song.put("duration", "3:30");
+        song.put("artist", Collections.singletonMap("id", artistId));
+        return song;
+    }
+}
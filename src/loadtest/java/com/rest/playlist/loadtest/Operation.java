@@ -0,0 +1,107 @@
+package com.rest.playlist.loadtest;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Operation is one request of the load test mix, with its key in the mix and the baseline
+ * ("getSong:40,createSong:5,...") ; it returns false when the response is not a 2xx.
+ */
+@Getter
+enum Operation {
+
+    GET_SONG("getSong", "GET /api/songs/{id}") {
+        @Override
+        boolean execute(LoadTestClient client, LoadTestData data) throws IOException {
+            return client.send("GET", "/api/songs/" + data.randomSongId(), null).isSuccess();
+        }
+    },
+    LIST_SONGS("listSongs", "GET /api/songs?after={cursor}&limit=100") {
+        @Override
+        boolean execute(LoadTestClient client, LoadTestData data) throws IOException {
+            String cursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(String.valueOf(data.randomSongId()).getBytes(StandardCharsets.UTF_8));
+            return client.send("GET", "/api/songs?after=" + cursor + "&limit=100", null).isSuccess();
+        }
+    },
+    SONGS_BY_CATEGORY("songsByCategory", "GET /api/songs/category/{category}") {
+        @Override
+        boolean execute(LoadTestClient client, LoadTestData data) throws IOException {
+            return client.send("GET", "/api/songs/category/" + data.randomCategory(), null).isSuccess();
+        }
+    },
+    SONGS_BY_ARTIST("songsByArtist", "GET /api/songs/artist/{name}") {
+        @Override
+        boolean execute(LoadTestClient client, LoadTestData data) throws IOException {
+            return client.send("GET", "/api/songs/artist/" + data.randomArtistName(), null).isSuccess();
+        }
+    },
+    GET_ARTIST("getArtist", "GET /api/artists/{id}") {
+        @Override
+        boolean execute(LoadTestClient client, LoadTestData data) throws IOException {
+            return client.send("GET", "/api/artists/" + data.randomArtistId(), null).isSuccess();
+        }
+    },
+    CREATE_SONG("createSong", "POST /api/songs") {
+        @Override
+        boolean execute(LoadTestClient client, LoadTestData data) throws IOException {
+            LoadTestClient.Response response = client.send("POST", "/api/songs", data.newSong(null, "Created song"));
+            if (response.isSuccess()) {
+                data.created(response.id());
+            }
+            return response.isSuccess();
+        }
+    },
+    UPDATE_SONG("updateSong", "PUT /api/songs") {
+        @Override
+        boolean execute(LoadTestClient client, LoadTestData data) throws IOException {
+            return client.send("PUT", "/api/songs", data.newSong(data.randomSongId(), "Updated song")).isSuccess();
+        }
+    },
+    /**
+     * deletes a song created by the load test, the seeded songs are kept for the reads
+     */
+    DELETE_SONG("deleteSong", "DELETE /api/songs/{id}") {
+        @Override
+        boolean execute(LoadTestClient client, LoadTestData data) throws IOException {
+            Long id = data.pollCreated();
+            if (id == null) {
+                return CREATE_SONG.execute(client, data);
+            }
+            return client.send("DELETE", "/api/songs/" + id, null).isSuccess();
+        }
+    };
+
+    private final String key;
+    private final String request;
+
+    Operation(String key, String request) {
+        this.key = key;
+        this.request = request;
+    }
+
+    abstract boolean execute(LoadTestClient client, LoadTestData data) throws IOException;
+
+    static Operation of(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown load test operation " + key);
+    }
+
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] keyAndWeight = entry.trim().split(":");
+            weights.put(of(keyAndWeight[0].trim()), Integer.valueOf(keyAndWeight[1].trim()));
+        }
+        return weights;
+    }
+}
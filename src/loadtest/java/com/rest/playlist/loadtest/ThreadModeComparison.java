@@ -0,0 +1,28 @@
+package com.rest.playlist.loadtest;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ThreadModeComparison runs the same load twice, on Tomcat platform worker threads then on
+ * virtual threads (playlist.threads.virtual, Java 21 runtime), and prints the throughput and
+ * p99 of each operation side by side ; both runs are written to playlist.loadtest.result.
+ * Each run starts on an empty schema (see FreshSchema), so both are seeded with the same data.
+ * Use a high client count (-Dloadtest.threads=400) so that the requests outnumber the
+ * Tomcat workers, and a real database (-Dplaylist.loadtest.url) : H2 in memory never blocks on I/O.
+ */
+public final class ThreadModeComparison {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, List<LatencyReport.Result>> modes = new LinkedHashMap<>();
+        modes.put("platform", new LoadTest().measure("platform threads", "--playlist.threads.virtual=false"));
+        modes.put("virtual", new LoadTest().measure("virtual threads", "--playlist.threads.virtual=true"));
+        LatencyReport.printComparison(modes);
+
+        File file = new File(System.getProperty("playlist.loadtest.result", "target/loadtest-thread-modes.json"));
+        file.getParentFile().mkdirs();
+        LoadTestClient.MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, modes);
+    }
+}
@@ -1,14 +1,27 @@
 package com.rest.playlist;
 
+import com.rest.playlist.reactive.ReactivePlaylistApplication;
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+/**
+ * The servlet application (Spring MVC + JPA) is the default one,
+ * the profile "reactive" starts the WebFlux + R2DBC variant instead (see ReactivePlaylistApplication) :
+ * the R2DBC auto-configurations are left to the reactive application.
+ */
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcDataAutoConfiguration.class,
+		R2dbcRepositoriesAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class PlaylistApplication {
 
 	public static void main(String[] args) {
+		if (ReactivePlaylistApplication.isSelected(args)) {
+			SpringApplication.run(ReactivePlaylistApplication.class, args);
+			return;
+		}
 		SpringApplication.run(PlaylistApplication.class, args);
 	}
 
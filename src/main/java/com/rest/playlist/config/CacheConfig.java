@@ -0,0 +1,16 @@
+package com.rest.playlist.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Result caches of the song lookups, backed by Caffeine (see spring.cache.* properties).
+ * Entries are read and stored through SongListCache and evicted by SongCacheEvictionListener after each committed write.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String SONGS_BY_CATEGORY = "songsByCategory";
+    public static final String SONGS_BY_ARTIST_NAME = "songsByArtistName";
+}
@@ -0,0 +1,134 @@
+package com.rest.playlist.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.function.Consumer;
+
+/**
+ * Applies DataSourcePoolProperties to the HikariDataSource before the pool starts, and checks
+ * at startup the pool size against the web threads (PoolSizingCheck).
+ * Spring Boot publishes the hikaricp.connections.* metrics (active, idle, pending, acquire, usage) ;
+ * playlist.datasource.pool.saturation adds the ratio of busy connections.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourcePoolProperties.class)
+public class DataSourcePoolConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourcePoolConfig.class);
+
+    private static final String POSTGRESQL_URL = "jdbc:postgresql:";
+    private static final int DEFAULT_WEB_THREADS = 200;
+
+    private final ObjectProvider<DataSource> dataSource;
+    private final ObjectProvider<ServerProperties> serverProperties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean virtualThreads;
+
+    public DataSourcePoolConfig(ObjectProvider<DataSource> dataSource,
+                                ObjectProvider<ServerProperties> serverProperties,
+                                ObjectProvider<MeterRegistry> meterRegistry,
+                                @Value("${playlist.threads.virtual:false}") boolean virtualThreads) {
+        this.dataSource = dataSource;
+        this.serverProperties = serverProperties;
+        this.meterRegistry = meterRegistry;
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * bound from the Environment : a post-processor is created before the configuration properties beans
+     */
+    @Bean
+    public static BeanPostProcessor dataSourcePoolCustomizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    apply(Binder.get(environment).bindOrCreate("playlist.datasource.pool", DataSourcePoolProperties.class),
+                            (HikariDataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    public static void apply(DataSourcePoolProperties properties, HikariDataSource hikari) {
+        set(properties.getMaximumPoolSize(), hikari::setMaximumPoolSize);
+        set(properties.getMinimumIdle(), hikari::setMinimumIdle);
+        set(properties.getConnectionTimeout(), duration -> hikari.setConnectionTimeout(duration.toMillis()));
+        set(properties.getIdleTimeout(), duration -> hikari.setIdleTimeout(duration.toMillis()));
+        set(properties.getMaxLifetime(), duration -> hikari.setMaxLifetime(duration.toMillis()));
+        set(properties.getValidationTimeout(), duration -> hikari.setValidationTimeout(duration.toMillis()));
+        set(properties.getLeakDetectionThreshold(), duration -> hikari.setLeakDetectionThreshold(duration.toMillis()));
+
+        if (hikari.getJdbcUrl() != null && hikari.getJdbcUrl().startsWith(POSTGRESQL_URL)) {
+            DataSourcePoolProperties.StatementCache statementCache = properties.getStatementCache();
+            set(statementCache.getPrepareThreshold(), value -> hikari.addDataSourceProperty("prepareThreshold", value));
+            set(statementCache.getQueries(), value -> hikari.addDataSourceProperty("preparedStatementCacheQueries", value));
+            set(statementCache.getSizeMib(), value -> hikari.addDataSourceProperty("preparedStatementCacheSizeMiB", value));
+        }
+    }
+
+    private static <T> void set(T value, Consumer<T> setter) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkPoolSizing() {
+        HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource.getIfAvailable(), HikariConfigMXBean.class, HikariDataSource.class);
+        if (hikari == null) {
+            return;
+        }
+
+        ServerProperties server = serverProperties.getIfAvailable();
+        int webThreads = webThreads(server);
+        int minimumIdle = hikari.getMinimumIdle() < 0 ? hikari.getMaximumPoolSize() : hikari.getMinimumIdle();
+        log.info("Connection pool {} : {} connections (minimum idle {}, connection timeout {} ms) for {} web threads",
+                hikari.getPoolName(), hikari.getMaximumPoolSize(), minimumIdle, hikari.getConnectionTimeout(), webThreads);
+        PoolSizingCheck.check(hikari.getMaximumPoolSize(), minimumIdle, webThreads, hikari.getConnectionTimeout())
+                .forEach(log::warn);
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("playlist.datasource.pool.saturation", hikari, DataSourcePoolConfig::saturation)
+                    .description("Busy connections over the maximum pool size")
+                    .tag("pool", String.valueOf(hikari.getPoolName()))
+                    .register(registry);
+        }
+    }
+
+    /**
+     * with virtual threads every open connection can have its request thread
+     */
+    private int webThreads(ServerProperties server) {
+        if (server == null) {
+            return DEFAULT_WEB_THREADS;
+        }
+        return virtualThreads ? server.getTomcat().getMaxConnections() : server.getTomcat().getThreads().getMax();
+    }
+
+    private static double saturation(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections() / (double) hikari.getMaximumPoolSize();
+    }
+}
@@ -0,0 +1,60 @@
+package com.rest.playlist.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tuning of the HikariCP pool (playlist.datasource.pool.*), applied by DataSourcePoolConfig.
+ * Unset values keep the spring.datasource.hikari.* / HikariCP defaults.
+ * The statement cache settings are PostgreSQL driver properties, they are ignored on other databases.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "playlist.datasource.pool")
+public class DataSourcePoolProperties {
+
+    /**
+     * connections in the pool, busy and idle
+     */
+    private Integer maximumPoolSize;
+
+    private Integer minimumIdle;
+
+    /**
+     * longest wait of getConnection() before a SQLTransientConnectionException
+     */
+    private Duration connectionTimeout;
+
+    private Duration idleTimeout;
+
+    private Duration maxLifetime;
+
+    private Duration validationTimeout;
+
+    /**
+     * a connection held longer is logged as a possible leak, 0 disables the detection
+     */
+    private Duration leakDetectionThreshold;
+
+    private final StatementCache statementCache = new StatementCache();
+
+    @Getter
+    @Setter
+    public static class StatementCache {
+
+        /**
+         * executions of a statement before the driver switches to a server-side prepared statement
+         */
+        private Integer prepareThreshold;
+
+        /**
+         * prepared statements cached per connection
+         */
+        private Integer queries;
+
+        private Integer sizeMib;
+    }
+}
@@ -0,0 +1,13 @@
+package com.rest.playlist.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+/**
+ * Fills created_at / updated_at of the audited entities (see AbstractAuditModel).
+ * updated_at drives the ETag and Last-Modified validators of the GET endpoints.
+ */
+@Configuration
+@EnableJpaAuditing
+public class JpaAuditingConfig {
+}
@@ -0,0 +1,37 @@
+package com.rest.playlist.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the connection pool with the web threads that borrow from it :
+ * connections above the thread count are never used, and when the threads
+ * outnumber the connections, the extra requests queue on getConnection()
+ * for up to connectionTimeout (see the hikaricp.connections.pending metric) :
+ * a long timeout lets a burst pile up blocked threads instead of failing fast.
+ */
+final class PoolSizingCheck {
+
+    static final long MAX_QUEUED_WAIT_MILLIS = 5000;
+
+    private PoolSizingCheck() {
+    }
+
+    static List<String> check(int maximumPoolSize, int minimumIdle, int webThreads, long connectionTimeoutMillis) {
+        List<String> warnings = new ArrayList<>();
+        if (maximumPoolSize > webThreads) {
+            warnings.add("The pool allows " + maximumPoolSize + " connections for " + webThreads
+                    + " web threads, " + (maximumPoolSize - webThreads) + " connections can never be used");
+        }
+        if (minimumIdle > maximumPoolSize) {
+            warnings.add("minimumIdle " + minimumIdle + " is above maximumPoolSize " + maximumPoolSize
+                    + ", the pool keeps " + maximumPoolSize + " connections");
+        }
+        if (webThreads > maximumPoolSize && connectionTimeoutMillis > MAX_QUEUED_WAIT_MILLIS) {
+            warnings.add("Up to " + (webThreads - maximumPoolSize) + " of the " + webThreads
+                    + " web threads can wait up to " + connectionTimeoutMillis + " ms for one of the "
+                    + maximumPoolSize + " connections, lower playlist.datasource.pool.connection-timeout to fail fast");
+        }
+        return warnings;
+    }
+}
@@ -0,0 +1,54 @@
+package com.rest.playlist.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * With playlist.threads.virtual=true, Tomcat runs every request on its own virtual thread,
+ * and so do the service calls and their JDBC work : a request blocked on the database no longer
+ * holds a worker thread, server.tomcat.threads.max stops limiting the concurrency and the
+ * connection pool (playlist.datasource.pool.*) becomes the only limiter, bounded by
+ * server.tomcat.max-connections. The MVC async requests (NDJSON export) use virtual threads too.
+ * Virtual threads need a Java 21 runtime : the project still compiles for Java 8, the executor
+ * is looked up by reflection and the startup fails on an older runtime.
+ */
+@Configuration
+@ConditionalOnProperty(name = "playlist.threads.virtual", havingValue = "true")
+public class VirtualThreadsConfig implements WebMvcConfigurer {
+
+    private final ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+
+    static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("playlist.threads.virtual=true needs a Java 21 runtime, found Java "
+                    + System.getProperty("java.specification.version"), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create the virtual thread executor", e);
+        }
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        return virtualThreadExecutor;
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandler() {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new ConcurrentTaskExecutor(virtualThreadExecutor));
+    }
+}
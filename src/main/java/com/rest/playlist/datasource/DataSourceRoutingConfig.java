@@ -0,0 +1,64 @@
+package com.rest.playlist.datasource;
+
+import com.rest.playlist.config.DataSourcePoolConfig;
+import com.rest.playlist.config.DataSourcePoolProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * With playlist.datasource.routing.enabled=true, the DataSource is a ReplicaRoutingDataSource
+ * over the primary (spring.datasource.*) and the replicas (playlist.datasource.routing.replicas).
+ * Every pool gets the spring.datasource.hikari.* and playlist.datasource.pool.* settings ;
+ * the replica pools start even when their database is down, the health check takes them in later.
+ */
+@Configuration
+@ConditionalOnProperty(name = "playlist.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties({DataSourceRoutingProperties.class, DataSourcePoolProperties.class})
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                               DataSourceRoutingProperties routingProperties,
+                                               DataSourcePoolProperties poolProperties,
+                                               Environment environment,
+                                               ObjectProvider<MeterRegistry> meterRegistry,
+                                               ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        configure(primary, "primary", poolProperties, environment);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < routingProperties.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = routingProperties.getReplicas().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            configure(pool, "replica-" + i, poolProperties, environment);
+            pool.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(pool);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, routingProperties, entityManagerFactory);
+    }
+
+    private static void configure(HikariDataSource pool, String name, DataSourcePoolProperties poolProperties,
+                                  Environment environment) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        DataSourcePoolConfig.apply(poolProperties, pool);
+        pool.setPoolName(name);
+    }
+}
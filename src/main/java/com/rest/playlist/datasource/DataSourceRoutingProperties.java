@@ -0,0 +1,47 @@
+package com.rest.playlist.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas (playlist.datasource.routing.*) used by the read-only transactions,
+ * see ReplicaRoutingDataSource.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "playlist.datasource.routing")
+public class DataSourceRoutingProperties {
+
+    private boolean enabled;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * the lag of a replica grows with the time since its last check : keep it below the smallest @ReplicaLag
+     */
+    private Duration healthCheckInterval = Duration.ofMillis(500);
+
+    /**
+     * replication lag tolerated by the endpoints without @ReplicaLag
+     */
+    private Duration defaultMaxLag = Duration.ofSeconds(5);
+
+    /**
+     * query returning the replication lag of a replica in milliseconds, 0 when it has replayed all it received
+     */
+    private String lagQuery = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+            + "else extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000 end";
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,21 @@
+package com.rest.playlist.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Replication lag tolerated by the read-only transactions of an endpoint (or service method) :
+ * replicas further behind are skipped, 0 reads from the primary.
+ * Without it, playlist.datasource.routing.default-max-lag applies.
+ * The lag is counted from the last health check : a tolerance below health-check-interval sends most reads to the primary.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ReplicaLag {
+
+    long maxMillis();
+}
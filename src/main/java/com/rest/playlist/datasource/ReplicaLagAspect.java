@@ -0,0 +1,34 @@
+package com.rest.playlist.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds the lag tolerance of @ReplicaLag to the thread for the duration of the call.
+ * Ordered after ExposeInvocationInterceptor (HIGHEST_PRECEDENCE + 1), which the annotation binding needs,
+ * and before the transaction advice.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ReplicaLagAspect {
+
+    @Around("@annotation(replicaLag)")
+    public Object withMaxLag(ProceedingJoinPoint joinPoint, ReplicaLag replicaLag) throws Throwable {
+        Long previous = ReplicaRoutingDataSource.MAX_LAG_MILLIS.get();
+        ReplicaRoutingDataSource.MAX_LAG_MILLIS.set(replicaLag.maxMillis());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (previous == null) {
+                ReplicaRoutingDataSource.MAX_LAG_MILLIS.remove();
+            } else {
+                ReplicaRoutingDataSource.MAX_LAG_MILLIS.set(previous);
+            }
+        }
+    }
+}
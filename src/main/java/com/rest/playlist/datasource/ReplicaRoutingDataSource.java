@@ -0,0 +1,204 @@
+package com.rest.playlist.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ReplicaRoutingDataSource sends the read-only transactions to the replicas, round-robin,
+ * and everything else to the primary.
+ * A replica is skipped while its last health check failed or while its replication lag is above
+ * the tolerance of the current endpoint (@ReplicaLag, else default-max-lag) : with no replica left
+ * the read goes to the primary.
+ * The physical connection is only fetched at the first statement (LazyConnectionDataSourceProxy) :
+ * the transaction manager opens the connection before the read-only flag of the transaction is set.
+ * The lag of a replica is the one read by its last health check plus the time elapsed since :
+ * a tolerance below health-check-interval only lets the reads just after a check go to the replica.
+ * A replica may miss the last commits, what it returns must not outlive the read : the Hibernate session
+ * of a transaction routed to a replica only reads the second-level cache (CacheMode.GET) and
+ * the result caches skip their put when replicaReads() changed during the read.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    static final ThreadLocal<Long> MAX_LAG_MILLIS = new ThreadLocal<>();
+    private static final ThreadLocal<long[]> REPLICA_READS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final String PRIMARY = "primary";
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long defaultMaxLagMillis;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthCheck;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools,
+                                    DataSourceRoutingProperties properties,
+                                    ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.primary = primary;
+        this.entityManagerFactory = entityManagerFactory;
+        this.defaultMaxLagMillis = properties.getDefaultMaxLag().toMillis();
+        this.lagQuery = properties.getLagQuery();
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool);
+            replicas.add(replica);
+            targets.put(replica.name, pool);
+        }
+        Router router = new Router();
+        router.setTargetDataSources(targets);
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+
+        checkReplicas();
+        healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHealthCheckInterval().toMillis();
+        healthCheck.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * checks the connection and reads the lag of each replica
+     */
+    public void checkReplicas() {
+        replicas.forEach(replica -> replica.check(lagQuery));
+    }
+
+    /**
+     * number of transactions of the current thread routed to a replica so far
+     */
+    public static long replicaReads() {
+        return REPLICA_READS.get()[0];
+    }
+
+    String lookupKey() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        Long endpointMaxLag = MAX_LAG_MILLIS.get();
+        long maxLag = endpointMaxLag == null ? defaultMaxLagMillis : endpointMaxLag;
+        if (maxLag <= 0) {
+            return PRIMARY;
+        }
+        long now = System.currentTimeMillis();
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy && replica.lagMillis + (now - replica.checkedAt) <= maxLag) {
+                REPLICA_READS.get()[0]++;
+                skipCachePuts();
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * the session keeps reading the second-level cache but no longer fills it, until the transaction completes
+     */
+    private void skipCachePuts() {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        EntityManagerHolder holder = factory == null ? null
+                : (EntityManagerHolder) TransactionSynchronizationManager.getResource(factory);
+        if (holder == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Session session = holder.getEntityManager().unwrap(Session.class);
+        CacheMode previous = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (session.isOpen()) {
+                    session.setCacheMode(previous);
+                }
+            }
+        });
+    }
+
+    /**
+     * Closeable rather than DisposableBean : the bean is exposed wrapped in the SQL stats proxy, which closes it
+     */
+    @Override
+    public void close() {
+        healthCheck.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    private class Router extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return lookupKey();
+        }
+    }
+
+    private static class Replica {
+        private final String name;
+        private final HikariDataSource pool;
+        private volatile boolean healthy;
+        private volatile long lagMillis;
+        private volatile long checkedAt;
+
+        Replica(HikariDataSource pool) {
+            this.name = pool.getPoolName();
+            this.pool = pool;
+        }
+
+        void check(String lagQuery) {
+            boolean wasHealthy = healthy;
+            try (Connection connection = pool.getConnection()) {
+                healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+                if (healthy && lagQuery != null && !lagQuery.isEmpty()) {
+                    try (Statement statement = connection.createStatement();
+                         ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                        lagMillis = resultSet.next() ? resultSet.getLong(1) : 0;
+                    }
+                }
+                checkedAt = System.currentTimeMillis();
+            } catch (SQLException | RuntimeException e) {
+                healthy = false;
+                if (wasHealthy) {
+                    log.warn("Replica {} is down, its reads go to the other replicas or the primary", name, e);
+                }
+            }
+            if (healthy && !wasHealthy) {
+                log.info("Replica {} is up, lag {} ms", name, lagMillis);
+            }
+        }
+    }
+}
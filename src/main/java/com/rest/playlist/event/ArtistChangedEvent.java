@@ -0,0 +1,29 @@
+package com.rest.playlist.event;
+
+import lombok.Getter;
+
+import java.util.HashSet;
+import java.util.Set;
+
+
+/**
+ * ArtistChangedEvent is published by the artist service after a create, update or delete.
+ * Songs embed their artist, so every song list of the artist is impacted,
+ * artistNames holds the name before and after the change.
+ */
+
+@Getter
+public class ArtistChangedEvent {
+
+    private final Long artistId;
+    private final Set<String> artistNames = new HashSet<>();
+
+    public ArtistChangedEvent(Long artistId, String... artistNames) {
+        this.artistId = artistId;
+        for (String artistName : artistNames) {
+            if (artistName != null) {
+                this.artistNames.add(artistName);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.rest.playlist.event;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Song;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+
+/**
+ * SongChangedEvent is published by the song service after a create, update or delete.
+ * It holds every key touched by the write (before and after the change),
+ * so that caches and indexes built on songs are refreshed precisely.
+ */
+
+@Getter
+public class SongChangedEvent {
+
+    private final Set<Long> songIds = new HashSet<>();
+    private final Set<SongCategory> categories = new HashSet<>();
+    private final Set<String> artistNames = new HashSet<>();
+
+    public static SongChangedEvent of(Collection<Song> songs) {
+        SongChangedEvent event = new SongChangedEvent();
+        songs.forEach(event::add);
+        return event;
+    }
+
+    public SongChangedEvent add(Song song) {
+        return add(song.getId(), song.getCategory(), song.getArtist() == null ? null : song.getArtist().getName());
+    }
+
+    public SongChangedEvent add(Long songId, SongCategory category, String artistName) {
+        if (songId != null) {
+            songIds.add(songId);
+        }
+        if (category != null) {
+            categories.add(category);
+        }
+        if (artistName != null) {
+            artistNames.add(artistName);
+        }
+        return this;
+    }
+}
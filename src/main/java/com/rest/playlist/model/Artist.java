@@ -5,6 +5,13 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
 
 import javax.persistence.*;
 import javax.validation.constraints.*;
@@ -15,11 +22,17 @@ import java.util.List;
 @Getter
 @Setter
 @Table(name = "artist")
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "artist")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Artist extends AbstractAuditModel {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ARTIST_SEQ")
-    @SequenceGenerator(name = "ARTIST_SEQ", sequenceName = "artist_seq", allocationSize = 1)
+    @GenericGenerator(name = "ARTIST_SEQ", strategy = "com.rest.playlist.model.PooledSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "artist_seq"))
+    @GenericField
     private Long id;
 
     @Column(name = "name")
@@ -33,7 +46,21 @@ public class Artist extends AbstractAuditModel {
     @Max(value = 100, message = "popularity doit être entre 0 et 100")
     private Long popularity;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "artist_songs")
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, mappedBy = "artist")
     @JsonIgnore
     private List<Song> songs = new ArrayList<>();
+
+    /**
+     * a detached copy of the columns, without the songs
+     */
+    public Artist copy() {
+        Artist copy = new Artist();
+        copy.setId(getId());
+        copy.setName(getName());
+        copy.setPopularity(getPopularity());
+        copy.setCreateAt(getCreateAt());
+        copy.setUpdatedAt(getUpdatedAt());
+        return copy;
+    }
 }
@@ -0,0 +1,53 @@
+package com.rest.playlist.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.Session;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+/**
+ * PooledSequenceGenerator is the id generator of Song and Artist.
+ * It uses the pooled-lo optimizer : one nextval gives a block of ids,
+ * so inserts need one sequence call per block instead of one per row.
+ * The size of the block is read from the property
+ * spring.jpa.properties.playlist.id.allocation_size (50 by default),
+ * the increment of artist_seq / song_seq in the database must be the same
+ * (see the migration db/migration/common/V2__pooled_sequences.sql).
+ * An id already taken from this generator (write-behind creates) is kept
+ * when the session has the property KEEP_ASSIGNED_IDS.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE = "playlist.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+    public static final String KEEP_ASSIGNED_IDS = "playlist.id.keep_assigned";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Object allocationSize = serviceRegistry.getService(ConfigurationService.class)
+                .getSettings()
+                .getOrDefault(ALLOCATION_SIZE, DEFAULT_ALLOCATION_SIZE);
+
+        params.setProperty(INCREMENT_PARAM, allocationSize.toString());
+        params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        if (session instanceof Session && Boolean.TRUE.equals(((Session) session).getProperties().get(KEEP_ASSIGNED_IDS))) {
+            Serializable id = session.getEntityPersister(null, object).getIdentifier(object, session);
+            if (id != null) {
+                return id;
+            }
+        }
+        return super.generate(session, object);
+    }
+}
@@ -1,8 +1,20 @@
 package com.rest.playlist.model;
 
 import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.search.SongAnalysisConfigurer;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.search.mapper.pojo.automaticindexing.ReindexOnUpdate;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IndexedEmbedded;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IndexingDependency;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
@@ -13,19 +25,26 @@ import javax.validation.constraints.Size;
 @Getter
 @Setter
 @Table(name = "songs")
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "song")
+@Indexed(index = "songs")
 public class Song extends AbstractAuditModel{
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "SONG_SEQ")
-    @SequenceGenerator(name = "SONG_SEQ", sequenceName = "song_seq", allocationSize = 1)
+    @GenericGenerator(name = "SONG_SEQ", strategy = "com.rest.playlist.model.PooledSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "song_seq"))
     private Long id;
 
     @Column(name = "title")
+    @FullTextField(analyzer = SongAnalysisConfigurer.TEXT)
     @NotBlank(message = "titre ne doit pas être null ou vide")
     @Size(min = 3, max = 50, message = "titre doit être compris entre 3 et 50 caractères")
     private String title;
 
     @Column(name = "description")
+    @FullTextField(analyzer = SongAnalysisConfigurer.TEXT)
     @NotBlank(message = "description ne doit pas être nulle ou vide")
     @Size(min = 3, max = 50, message = "description doit être compris entre 3 et 50 caractères")
     private String description;
@@ -39,7 +58,28 @@ public class Song extends AbstractAuditModel{
     @NotNull(message = "categorie<JAZZ, POP, CLASSICAL> ne doit pas être nulle")
     private SongCategory category;
 
-    @ManyToOne
+    /**
+     * only the artist id is indexed (songs of a deleted artist), a change of the artist does not reindex its songs
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "artist_id")
+    @IndexedEmbedded(includePaths = "id")
+    @IndexingDependency(reindexOnUpdate = ReindexOnUpdate.SHALLOW)
     private Artist artist;
+
+    /**
+     * a detached copy of the columns, sharing the artist
+     */
+    public Song copy() {
+        Song copy = new Song();
+        copy.setId(getId());
+        copy.setTitle(getTitle());
+        copy.setDescription(getDescription());
+        copy.setDuration(getDuration());
+        copy.setCategory(getCategory());
+        copy.setArtist(getArtist());
+        copy.setCreateAt(getCreateAt());
+        copy.setUpdatedAt(getUpdatedAt());
+        return copy;
+    }
 }
@@ -0,0 +1,47 @@
+package com.rest.playlist.reactive;
+
+import com.rest.playlist.web.exception.ReactiveExceptionHandler;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * ReactivePlaylistApplication is the non-blocking variant of the song and artist APIs :
+ * WebFlux endpoints backed by R2DBC, the list endpoints return a Flux read with backpressure.
+ * It is started by PlaylistApplication when the profile "reactive" is active
+ * (--spring.profiles.active=reactive or SPRING_PROFILES_ACTIVE=reactive),
+ * it only scans this package : the JPA services, the servlet filters and the MVC resources are not created.
+ * Both applications share the same tables.
+ */
+@Profile(ReactivePlaylistApplication.PROFILE)
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@Import(ReactiveExceptionHandler.class)
+public class ReactivePlaylistApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ReactivePlaylistApplication.class);
+        application.setAdditionalProfiles(PROFILE);
+        application.run(args);
+    }
+
+    /**
+     * the active profiles are read from the command line, the system properties and the environment,
+     * before any context is created
+     */
+    public static boolean isSelected(String[] args) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        return environment.acceptsProfiles(Profiles.of(PROFILE));
+    }
+}
@@ -0,0 +1,99 @@
+package com.rest.playlist.reactive.repository;
+
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.reactive.ReactivePlaylistApplication;
+import io.r2dbc.spi.Row;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * ReactiveArtistRepository mirrors ArtistRepository on R2DBC (see ReactiveSongRepository).
+ */
+@Repository
+@Profile(ReactivePlaylistApplication.PROFILE)
+public class ReactiveArtistRepository {
+
+    private static final String SELECT_ARTISTS = "select a.id, a.name, a.popularity, a.created_at, a.updated_at from artist a ";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveArtistRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<Artist> findAll() {
+        return databaseClient.sql(SELECT_ARTISTS + "order by a.id")
+                .map(row -> toArtist(row, ""))
+                .all();
+    }
+
+    public Mono<Artist> findById(Long id) {
+        return databaseClient.sql(SELECT_ARTISTS + "where a.id = :id")
+                .bind("id", id)
+                .map(row -> toArtist(row, ""))
+                .one();
+    }
+
+    /**
+     * artist_seq is a pooled-lo sequence, see ReactiveSongRepository.insert
+     */
+    public Mono<Artist> insert(Artist artist) {
+        return databaseClient.sql("select nextval('artist_seq')")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> databaseClient.sql("insert into artist (id, name, popularity, created_at) " +
+                        "values (:id, :name, :popularity, :createdAt)")
+                        .bind("id", id)
+                        .bind("name", artist.getName())
+                        .bind("popularity", artist.getPopularity())
+                        .bind("createdAt", LocalDateTime.now())
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(id))
+                .flatMap(this::findById);
+    }
+
+    /**
+     * @return the number of updated rows, 0 when the artist does not exist
+     */
+    public Mono<Integer> update(Artist artist) {
+        return databaseClient.sql("update artist set name = :name, popularity = :popularity, updated_at = :updatedAt where id = :id")
+                .bind("name", artist.getName())
+                .bind("popularity", artist.getPopularity())
+                .bind("updatedAt", LocalDateTime.now())
+                .bind("id", artist.getId())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Integer> deleteById(Long id) {
+        return databaseClient.sql("delete from artist where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * the timestamps are written by Hibernate in the time zone of the JVM
+     */
+    static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    static Artist toArtist(Row row, String prefix) {
+        Artist artist = new Artist();
+        artist.setId(row.get(prefix + "id", Long.class));
+        artist.setName(row.get(prefix + "name", String.class));
+        artist.setPopularity(row.get(prefix + "popularity", Long.class));
+        artist.setCreateAt(toInstant(row.get(prefix + "created_at", LocalDateTime.class)));
+        artist.setUpdatedAt(toInstant(row.get(prefix + "updated_at", LocalDateTime.class)));
+        return artist;
+    }
+}
@@ -0,0 +1,135 @@
+package com.rest.playlist.reactive.repository;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.reactive.ReactivePlaylistApplication;
+import io.r2dbc.spi.Row;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * ReactiveSongRepository mirrors SongRepository on R2DBC.
+ * Song is mapped by JPA (many-to-one artist, pooled sequence), Spring Data R2DBC cannot map it :
+ * the queries are written with the DatabaseClient and the artist is read in the same select, like the entity graphs.
+ * The rows of a Flux are read from the database as the subscriber requests them.
+ */
+@Repository
+@Profile(ReactivePlaylistApplication.PROFILE)
+public class ReactiveSongRepository {
+
+    private static final String SELECT_SONGS = "select s.id, s.title, s.description, s.duration, s.category, " +
+            "s.created_at, s.updated_at, a.id as artist_id, a.name as artist_name, a.popularity as artist_popularity, " +
+            "a.created_at as artist_created_at, a.updated_at as artist_updated_at " +
+            "from songs s left join artist a on a.id = s.artist_id ";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveSongRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<Song> findAll() {
+        return databaseClient.sql(SELECT_SONGS + "order by s.id")
+                .map(ReactiveSongRepository::toSong)
+                .all();
+    }
+
+    public Flux<Song> findSongsByCategory(SongCategory category) {
+        return databaseClient.sql(SELECT_SONGS + "where s.category = :category order by s.id")
+                .bind("category", category.name())
+                .map(ReactiveSongRepository::toSong)
+                .all();
+    }
+
+    public Flux<Song> findSongsByArtistName(String name) {
+        return databaseClient.sql(SELECT_SONGS + "where a.name = :name order by s.id")
+                .bind("name", name)
+                .map(ReactiveSongRepository::toSong)
+                .all();
+    }
+
+    public Mono<Song> findById(Long id) {
+        return databaseClient.sql(SELECT_SONGS + "where s.id = :id")
+                .bind("id", id)
+                .map(ReactiveSongRepository::toSong)
+                .one();
+    }
+
+    /**
+     * song_seq is a pooled-lo sequence : the value of one nextval is never used by Hibernate,
+     * the rest of the block is lost but both applications can insert in the same table
+     */
+    public Mono<Song> insert(Song song) {
+        return databaseClient.sql("select nextval('song_seq')")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    return databaseClient.sql("insert into songs (id, title, description, duration, category, artist_id, created_at) " +
+                            "values (:id, :title, :description, :duration, :category, :artistId, :createdAt)")
+                            .bind("id", id)
+                            .bind("title", song.getTitle())
+                            .bind("description", song.getDescription())
+                            .bind("duration", song.getDuration())
+                            .bind("category", song.getCategory().name())
+                            .bind("artistId", song.getArtist().getId())
+                            .bind("createdAt", now)
+                            .fetch()
+                            .rowsUpdated()
+                            .thenReturn(id);
+                })
+                .flatMap(this::findById);
+    }
+
+    /**
+     * @return the number of updated rows, 0 when the song does not exist
+     */
+    public Mono<Integer> update(Song song) {
+        return databaseClient.sql("update songs set title = :title, description = :description, duration = :duration, " +
+                "category = :category, artist_id = :artistId, updated_at = :updatedAt where id = :id")
+                .bind("title", song.getTitle())
+                .bind("description", song.getDescription())
+                .bind("duration", song.getDuration())
+                .bind("category", song.getCategory().name())
+                .bind("artistId", song.getArtist().getId())
+                .bind("updatedAt", LocalDateTime.now())
+                .bind("id", song.getId())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Integer> deleteById(Long id) {
+        return databaseClient.sql("delete from songs where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Integer> deleteByArtistId(Long artistId) {
+        return databaseClient.sql("delete from songs where artist_id = :artistId")
+                .bind("artistId", artistId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Song toSong(Row row) {
+        Song song = new Song();
+        song.setId(row.get("id", Long.class));
+        song.setTitle(row.get("title", String.class));
+        song.setDescription(row.get("description", String.class));
+        song.setDuration(row.get("duration", String.class));
+        String category = row.get("category", String.class);
+        song.setCategory(category == null ? null : SongCategory.valueOf(category));
+        song.setCreateAt(ReactiveArtistRepository.toInstant(row.get("created_at", LocalDateTime.class)));
+        song.setUpdatedAt(ReactiveArtistRepository.toInstant(row.get("updated_at", LocalDateTime.class)));
+        if (row.get("artist_id", Long.class) != null) {
+            song.setArtist(ReactiveArtistRepository.toArtist(row, "artist_"));
+        }
+        return song;
+    }
+}
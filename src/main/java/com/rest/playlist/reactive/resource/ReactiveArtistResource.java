@@ -0,0 +1,54 @@
+package com.rest.playlist.reactive.resource;
+
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.reactive.ReactivePlaylistApplication;
+import com.rest.playlist.reactive.service.IReactiveArtistService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+/**
+ * ReactiveArtistResource serves /api/artists in the reactive application (see ReactiveSongResource).
+ */
+@RestController
+@RequestMapping("/api/artists")
+@Profile(ReactivePlaylistApplication.PROFILE)
+public class ReactiveArtistResource {
+
+    private final IReactiveArtistService artistService;
+
+    public ReactiveArtistResource(IReactiveArtistService artistService) {
+        this.artistService = artistService;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Artist> getAllArtists() {
+        return artistService.getAllArtists();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Artist> getArtistById(@PathVariable Long id) {
+        return artistService.getArtistById(id);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Artist> createArtist(@Valid @RequestBody Artist artist) {
+        return artistService.createArtist(artist);
+    }
+
+    @PutMapping
+    public Mono<Artist> updateArtist(@Valid @RequestBody Artist artist) {
+        return artistService.updateArtist(artist);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteArtistById(@PathVariable Long id) {
+        return artistService.deleteArtistById(id);
+    }
+}
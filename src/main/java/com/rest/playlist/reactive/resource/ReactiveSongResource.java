@@ -0,0 +1,77 @@
+package com.rest.playlist.reactive.resource;
+
+import com.rest.playlist.model.Song;
+import com.rest.playlist.reactive.ReactivePlaylistApplication;
+import com.rest.playlist.reactive.service.IReactiveSongService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * ReactiveSongResource serves /api/songs in the reactive application.
+ * The list endpoints are not paged : the songs are written as they are read,
+ * and the rows are only read when the client consumes them (backpressure down to the R2DBC driver).
+ * A JSON array is returned by default, one song per line with Accept: application/x-ndjson.
+ */
+@RestController
+@Validated
+@RequestMapping("/api/songs")
+@Profile(ReactivePlaylistApplication.PROFILE)
+public class ReactiveSongResource {
+
+    private final IReactiveSongService songService;
+
+    public ReactiveSongResource(IReactiveSongService songService) {
+        this.songService = songService;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Song> getAllSongs() {
+        return songService.getAllSongs();
+    }
+
+    @GetMapping(value = "/category/{category}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Song> getSongsByCategory(@PathVariable String category) {
+        return songService.getSongsByCategory(category);
+    }
+
+    @GetMapping(value = "/artist/{name}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Song> getSongsByArtistName(@PathVariable String name) {
+        return songService.getSongsByArtistName(name);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Song> getSongById(@PathVariable Long id) {
+        return songService.getSongById(id);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Song> createSong(@Valid @RequestBody Song song) {
+        return songService.createSong(song);
+    }
+
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Flux<Song> createSongs(@RequestBody @NotEmpty(message = "songs ne doit pas être vide") List<@Valid Song> songs) {
+        return songService.createSongs(songs);
+    }
+
+    @PutMapping
+    public Mono<Song> updateSong(@Valid @RequestBody Song song) {
+        return songService.updateSong(song);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteSongById(@PathVariable Long id) {
+        return songService.deleteSongById(id);
+    }
+}
@@ -0,0 +1,18 @@
+package com.rest.playlist.reactive.service;
+
+import com.rest.playlist.model.Artist;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface IReactiveArtistService {
+
+    Flux<Artist> getAllArtists();
+
+    Mono<Artist> getArtistById(Long id);
+
+    Mono<Artist> createArtist(Artist artist);
+
+    Mono<Artist> updateArtist(Artist artist);
+
+    Mono<Void> deleteArtistById(Long id);
+}
@@ -0,0 +1,26 @@
+package com.rest.playlist.reactive.service;
+
+import com.rest.playlist.model.Song;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface IReactiveSongService {
+
+    Flux<Song> getAllSongs();
+
+    Flux<Song> getSongsByCategory(String category);
+
+    Flux<Song> getSongsByArtistName(String name);
+
+    Mono<Song> getSongById(Long id);
+
+    Mono<Song> createSong(Song song);
+
+    Flux<Song> createSongs(List<Song> songs);
+
+    Mono<Song> updateSong(Song song);
+
+    Mono<Void> deleteSongById(Long id);
+}
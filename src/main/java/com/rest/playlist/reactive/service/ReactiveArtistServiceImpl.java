@@ -0,0 +1,66 @@
+package com.rest.playlist.reactive.service;
+
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.reactive.ReactivePlaylistApplication;
+import com.rest.playlist.reactive.repository.ReactiveArtistRepository;
+import com.rest.playlist.reactive.repository.ReactiveSongRepository;
+import com.rest.playlist.web.exception.ResourceNotFoundException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveArtistServiceImpl is the R2DBC counterpart of ArtistServiceImpl (see ReactiveSongServiceImpl).
+ */
+@Service
+@Transactional
+@Profile(ReactivePlaylistApplication.PROFILE)
+public class ReactiveArtistServiceImpl implements IReactiveArtistService {
+
+    private final ReactiveArtistRepository artistRepository;
+    private final ReactiveSongRepository songRepository;
+
+    public ReactiveArtistServiceImpl(ReactiveArtistRepository artistRepository, ReactiveSongRepository songRepository) {
+        this.artistRepository = artistRepository;
+        this.songRepository = songRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Artist> getAllArtists() {
+        return artistRepository.findAll();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Artist> getArtistById(Long id) {
+        return artistRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Not found artist with id = " + id)));
+    }
+
+    @Override
+    public Mono<Artist> createArtist(Artist artist) {
+        return artistRepository.insert(artist);
+    }
+
+    @Override
+    public Mono<Artist> updateArtist(Artist artist) {
+        return artistRepository.update(artist)
+                .flatMap(updated -> updated == 0
+                        ? Mono.<Artist>error(new ResourceNotFoundException("Not found artist with id = " + artist.getId()))
+                        : artistRepository.findById(artist.getId()));
+    }
+
+    /**
+     * the songs of the artist are deleted first, like the orphan removal of Artist.songs
+     */
+    @Override
+    public Mono<Void> deleteArtistById(Long id) {
+        return getArtistById(id)
+                .then(songRepository.deleteByArtistId(id))
+                .then(artistRepository.deleteById(id))
+                .then();
+    }
+}
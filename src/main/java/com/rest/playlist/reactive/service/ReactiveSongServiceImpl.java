@@ -0,0 +1,105 @@
+package com.rest.playlist.reactive.service;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.reactive.ReactivePlaylistApplication;
+import com.rest.playlist.reactive.repository.ReactiveArtistRepository;
+import com.rest.playlist.reactive.repository.ReactiveSongRepository;
+import com.rest.playlist.web.exception.ResourceNotFoundException;
+import org.apache.commons.lang3.EnumUtils;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * ReactiveSongServiceImpl is the R2DBC counterpart of SongServiceImpl, with the same checks and messages.
+ * The writes do not go through Hibernate : no Envers revision, no second-level cache
+ * and no SongChangedEvent are produced by the reactive application.
+ */
+@Service
+@Transactional
+@Profile(ReactivePlaylistApplication.PROFILE)
+public class ReactiveSongServiceImpl implements IReactiveSongService {
+
+    private final ReactiveSongRepository songRepository;
+    private final ReactiveArtistRepository artistRepository;
+
+    public ReactiveSongServiceImpl(ReactiveSongRepository songRepository, ReactiveArtistRepository artistRepository) {
+        this.songRepository = songRepository;
+        this.artistRepository = artistRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Song> getAllSongs() {
+        return songRepository.findAll();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Song> getSongsByCategory(String category) {
+        SongCategory searchedCategory = EnumUtils.getEnumIgnoreCase(SongCategory.class, category);
+        if (searchedCategory == null) {
+            return Flux.error(new ResourceNotFoundException("Not found Category with value = " + category));
+        }
+        return songRepository.findSongsByCategory(searchedCategory);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<Song> getSongsByArtistName(String name) {
+        return songRepository.findSongsByArtistName(name);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Song> getSongById(Long id) {
+        return songRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Not found song with id = " + id)));
+    }
+
+    @Override
+    public Mono<Song> createSong(Song song) {
+        return checkArtist(song).then(songRepository.insert(song));
+    }
+
+    /**
+     * songs are inserted one after the other in the same transaction
+     */
+    @Override
+    public Flux<Song> createSongs(List<Song> songs) {
+        return Flux.fromIterable(songs)
+                .concatMap(song -> checkArtist(song).then(songRepository.insert(song)));
+    }
+
+    @Override
+    public Mono<Song> updateSong(Song song) {
+        return checkArtist(song)
+                .then(songRepository.update(song))
+                .flatMap(updated -> updated == 0
+                        ? Mono.<Song>error(new ResourceNotFoundException("Not found song with id = " + song.getId()))
+                        : songRepository.findById(song.getId()));
+    }
+
+    @Override
+    public Mono<Void> deleteSongById(Long id) {
+        return songRepository.deleteById(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.<Void>error(new ResourceNotFoundException("Not found song with id = " + id))
+                        : Mono.<Void>empty());
+    }
+
+    private Mono<Void> checkArtist(Song song) {
+        Long artistId = song.getArtist() == null ? null : song.getArtist().getId();
+        if (artistId == null) {
+            return Mono.error(new ResourceNotFoundException("Not found artist with id = null"));
+        }
+        return artistRepository.findById(artistId)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Not found artist with id = " + artistId)))
+                .then();
+    }
+}
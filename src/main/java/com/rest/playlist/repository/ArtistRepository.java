@@ -1,13 +1,55 @@
 package com.rest.playlist.repository;
 
 import com.rest.playlist.model.Artist;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 @EnableJpaAuditing
 public interface ArtistRepository extends JpaRepository<Artist, Long> {
+    List<Artist> findArtistsByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Versions of the artist responses, an artist has no embedded relation : relatedUpdatedAt is its own update.
+     */
+    @Query("select count(a) as count, max(coalesce(a.updatedAt, a.createAt)) as updatedAt, " +
+            "max(coalesce(a.updatedAt, a.createAt)) as relatedUpdatedAt from Artist a where a.id = :id")
+    ContentVersionView findArtistVersionById(@Param("id") Long id);
+
+    @Query("select a.id as id, coalesce(a.updatedAt, a.createAt) as updatedAt, " +
+            "coalesce(a.updatedAt, a.createAt) as relatedUpdatedAt from Artist a where a.id > :after order by a.id")
+    List<RowVersionView> findArtistRowVersionsAfter(@Param("after") Long after, Pageable pageable);
+
+    @Query("select a.name from Artist a where a.id = :id")
+    Optional<String> findArtistNameById(@Param("id") Long id);
+
+    /**
+     * names of the name search index (see NameSearchServiceImpl)
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select a.id as id, a.name as name, a.id as artistId from Artist a")
+    Stream<NameView> streamArtistNames();
+
+    /**
+     * the songs of the artist are deleted first, see SongRepository.bulkDeleteByArtistId
+     *
+     * @return the number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Artist a where a.id = :id")
+    int bulkDeleteById(@Param("id") Long id);
 }
@@ -0,0 +1,16 @@
+package com.rest.playlist.repository;
+
+import java.time.Instant;
+
+/**
+ * aggregate used to build the ETag / Last-Modified of a response without loading the rows :
+ * number of rows, last update of the rows and last update of the related rows embedded in the json
+ */
+public interface ContentVersionView {
+
+    Long getCount();
+
+    Instant getUpdatedAt();
+
+    Instant getRelatedUpdatedAt();
+}
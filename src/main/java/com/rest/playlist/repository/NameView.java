@@ -0,0 +1,13 @@
+package com.rest.playlist.repository;
+
+/**
+ * name of an artist or title of a song, read for the name search index without loading the entities
+ */
+public interface NameView {
+
+    Long getId();
+
+    String getName();
+
+    Long getArtistId();
+}
@@ -0,0 +1,15 @@
+package com.rest.playlist.repository;
+
+import java.time.Instant;
+
+/**
+ * version of one row of a page, used to build the ETag of a keyset page without loading the entities
+ */
+public interface RowVersionView {
+
+    Long getId();
+
+    Instant getUpdatedAt();
+
+    Instant getRelatedUpdatedAt();
+}
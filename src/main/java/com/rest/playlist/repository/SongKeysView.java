@@ -0,0 +1,15 @@
+package com.rest.playlist.repository;
+
+import com.rest.playlist.enums.SongCategory;
+
+/**
+ * keys of a song used by its change event (category and artist name), read without loading the entity
+ */
+public interface SongKeysView {
+
+    Long getId();
+
+    SongCategory getCategory();
+
+    String getArtistName();
+}
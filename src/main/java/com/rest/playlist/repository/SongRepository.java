@@ -2,15 +2,124 @@ package com.rest.playlist.repository;
 
 import com.rest.playlist.enums.SongCategory;
 import com.rest.playlist.model.Song;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 @EnableJpaAuditing
 public interface SongRepository extends JpaRepository<Song, Long> {
+
+    /**
+     * Song.artist is lazy : read queries load the artist in the same select
+     * through an entity graph, instead of one extra select per distinct artist.
+     */
+    @Override
+    @EntityGraph(attributePaths = "artist")
+    List<Song> findAll();
+
+    /**
+     * the updates and deletes need the artist name for their change event
+     */
+    @Override
+    @EntityGraph(attributePaths = "artist")
+    Optional<Song> findById(Long id);
+
+    @EntityGraph(attributePaths = "artist")
     List<Song> findSongsByCategory(SongCategory category);
+
+    @EntityGraph(attributePaths = "artist")
     List<Song> findSongsByArtist_Name(String name);
+
+    @EntityGraph(attributePaths = "artist")
+    List<Song> findSongsByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Versions of the song lists : songs embed their artist, so the artist updates are part of the version.
+     */
+    @Query("select count(s) as count, max(coalesce(s.updatedAt, s.createAt)) as updatedAt, " +
+            "max(coalesce(a.updatedAt, a.createAt)) as relatedUpdatedAt from Song s left join s.artist a where s.id = :id")
+    ContentVersionView findSongVersionById(@Param("id") Long id);
+
+    @Query("select count(s) as count, max(coalesce(s.updatedAt, s.createAt)) as updatedAt, " +
+            "max(coalesce(a.updatedAt, a.createAt)) as relatedUpdatedAt from Song s left join s.artist a where s.category = :category")
+    ContentVersionView findSongsVersionByCategory(@Param("category") SongCategory category);
+
+    @Query("select count(s) as count, max(coalesce(s.updatedAt, s.createAt)) as updatedAt, " +
+            "max(coalesce(a.updatedAt, a.createAt)) as relatedUpdatedAt from Song s join s.artist a where a.name = :name")
+    ContentVersionView findSongsVersionByArtistName(@Param("name") String name);
+
+    @Query("select s.id as id, coalesce(s.updatedAt, s.createAt) as updatedAt, " +
+            "coalesce(a.updatedAt, a.createAt) as relatedUpdatedAt from Song s left join s.artist a where s.id > :after order by s.id")
+    List<RowVersionView> findSongRowVersionsAfter(@Param("after") Long after, Pageable pageable);
+
+    /**
+     * Single statement delete of the songs of an artist (see ArtistServiceImpl.deleteArtistById) : no song is loaded,
+     * the second-level cache regions of the songs (and Artist.songs) are invalidated by Hibernate after the statement.
+     * The persistence context is flushed before and cleared after, it would still hold the deleted songs.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Song s where s.artist.id = :artistId")
+    int bulkDeleteByArtistId(@Param("artistId") Long artistId);
+
+    /**
+     * Chunks of the bulk operations by filter (see SongBulkServiceImpl) : a null filter matches every song.
+     * The keys of the next chunk are read by id, then the statement changes the rows read that still match the filter :
+     * a matching row inserted meanwhile with an id below the last id read is not changed.
+     */
+    @Query("select s.id as id, s.category as category, a.name as artistName from Song s left join s.artist a " +
+            "where s.id > :after and (:artistId is null or s.artist.id = :artistId) " +
+            "and (:category is null or s.category = :category) order by s.id")
+    List<SongKeysView> findSongKeysByFilterAfter(@Param("artistId") Long artistId, @Param("category") SongCategory category,
+                                                 @Param("after") Long after, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Song s where s.id in :ids " +
+            "and (:artistId is null or s.artist.id = :artistId) and (:category is null or s.category = :category)")
+    int bulkDeleteByFilter(@Param("artistId") Long artistId, @Param("category") SongCategory category,
+                           @Param("ids") Collection<Long> ids);
+
+    /**
+     * a bulk update bypasses the auditing listener : updated_at is set by the statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Song s set s.category = :newCategory, s.updatedAt = :updatedAt where s.id in :ids " +
+            "and (:artistId is null or s.artist.id = :artistId) and s.category = :category")
+    int bulkUpdateCategoryByFilter(@Param("artistId") Long artistId, @Param("category") SongCategory category,
+                                   @Param("ids") Collection<Long> ids,
+                                   @Param("newCategory") SongCategory newCategory, @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * titles of the name search index (see NameSearchServiceImpl)
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select s.id as id, s.title as name, s.artist.id as artistId from Song s")
+    Stream<NameView> streamSongNames();
+
+    @Query("select s.id as id, s.title as name, s.artist.id as artistId from Song s where s.id in :ids")
+    List<NameView> findSongNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Stream the whole catalogue with a JDBC fetch size : rows are read by blocks
+     * instead of being loaded in one list, it must be consumed inside a transaction.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select s from Song s left join fetch s.artist order by s.id")
+    Stream<Song> streamAllSongs();
 }
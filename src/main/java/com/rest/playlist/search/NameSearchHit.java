@@ -0,0 +1,33 @@
+package com.rest.playlist.search;
+
+import lombok.Builder;
+import lombok.Getter;
+
+
+/**
+ * one result of the name search, artistId is the artist of a song (the id itself for an artist)
+ * response eg :
+ * [
+ * {"type": "ARTIST", "id": 51, "name": "The Beatles", "artistId": 51, "score": 0.93},
+ * {"type": "SONG", "id": 102, "name": "Beat It", "artistId": 53, "score": 0.72}
+ * ]
+ */
+
+@Getter
+public class NameSearchHit {
+
+    private NameSearchIndex.Type type;
+    private long id;
+    private String name;
+    private Long artistId;
+    private double score;
+
+    @Builder
+    private NameSearchHit(NameSearchIndex.Type type, long id, String name, Long artistId, double score) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.artistId = artistId;
+        this.score = score;
+    }
+}
@@ -0,0 +1,526 @@
+package com.rest.playlist.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * NameSearchIndex is an in-memory index of the artist names and song titles.
+ * Names are normalized (case, accents and punctuation are ignored) and indexed twice :
+ * - a sorted map of the words of each name, for the prefix matches ("beat" finds "The Beatles"),
+ * - an inverted index of the trigrams of each word, for the fuzzy matches ("beatels" finds "The Beatles").
+ * The fuzzy score is the mean of the similarity of PostgreSQL pg_trgm (shared trigrams / distinct trigrams of both names)
+ * and of the share of the query trigrams found in the name, so that a typo in one word of a longer name still matches.
+ * The fuzzy candidates are read from the posting lists of the query trigrams, the rarest first : a name missing
+ * from the first m lists shares at most (trigrams of the query - m) trigrams with it, the scan stops
+ * once this bound is below minSimilarity or once limit * FUZZY_SCAN_FACTOR positions are read :
+ * the lists left are the most common trigrams (first letters of the words), they only add weak matches.
+ * The candidates are then compared by decreasing count of the trigrams read, limit * FUZZY_COMPARE_FACTOR at most.
+ * The posting lists hold the position of the names in an array : a removed name leaves a hole,
+ * the lists are rebuilt once the holes outnumber the names.
+ * Each trigram is numbered, the shared trigrams of a candidate are counted by merging two sorted arrays of numbers.
+ * Reads share a lock, writes are exclusive.
+ */
+public class NameSearchIndex {
+
+    public enum Type {
+        ARTIST,
+        SONG
+    }
+
+    /**
+     * a prefix of one or two letters matches most of the names : their scan stops after limit * PREFIX_SCAN_FACTOR names
+     */
+    private static final int PREFIX_SCAN_FACTOR = 50;
+    /**
+     * with 1 million names, the typo of a name is the first hit as often as without any bound, see NameSearchIndexBenchmark
+     */
+    private static final int FUZZY_SCAN_FACTOR = 2000;
+    private static final int FUZZY_COMPARE_FACTOR = 50;
+    private static final int MIN_COMPACTED_DOCS = 1024;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<Type, Map<Long, Entry>> entries = new EnumMap<>(Type.class);
+    private final Map<String, Posting> trigrams = new HashMap<>();
+    private final List<Posting> postings = new ArrayList<>();
+    private final NavigableMap<String, Set<Entry>> words = new TreeMap<>();
+    private final Map<Long, Set<Long>> songsByArtist = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Entry[] docs = new Entry[MIN_COMPACTED_DOCS];
+    /**
+     * trigrams of each name, 0 for a hole : names too short or too long for the query are skipped without reading them
+     */
+    private int[] docTrigrams = new int[MIN_COMPACTED_DOCS];
+    private int docCount;
+    private int removedDocs;
+
+    public NameSearchIndex() {
+        for (Type type : Type.values()) {
+            entries.put(type, new HashMap<>());
+        }
+    }
+
+    /**
+     * adds or replaces a name, a blank name is removed
+     */
+    public void put(Type type, long id, String name, Long artistId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(type, id);
+            String normalized = normalize(name);
+            if (normalized.isEmpty()) {
+                return;
+            }
+            Entry entry = new Entry(type, id, name, normalized, type == Type.ARTIST ? Long.valueOf(id) : artistId,
+                    trigramIds(normalized));
+            entries.get(type).put(id, entry);
+            if (docCount == docs.length) {
+                docs = Arrays.copyOf(docs, docCount * 2);
+                docTrigrams = Arrays.copyOf(docTrigrams, docCount * 2);
+            }
+            entry.doc = docCount++;
+            docs[entry.doc] = entry;
+            docTrigrams[entry.doc] = entry.trigramIds.length;
+            addPostings(entry);
+            for (String word : entry.words) {
+                words.computeIfAbsent(word, key -> new HashSet<>()).add(entry);
+            }
+            if (type == Type.SONG && artistId != null) {
+                songsByArtist.computeIfAbsent(artistId, key -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Type type, long id) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(type, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * the songs of a deleted artist are deleted with it
+     */
+    public void removeArtist(long artistId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(Type.ARTIST, artistId);
+            Set<Long> songIds = songsByArtist.remove(artistId);
+            if (songIds != null) {
+                new ArrayList<>(songIds).forEach(songId -> removeEntry(Type.SONG, songId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size(Type type) {
+        lock.readLock().lock();
+        try {
+            return entries.get(type).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param type          ARTIST or SONG, null for both
+     * @param minSimilarity trigram similarity of the fuzzy matches, between 0 (excluded) and 1
+     * @return the best limit names, by decreasing score : 1 for the same name,
+     * 0.9 to 1 when the name starts with the query, 0.7 to 0.8 when one of its words does, or the fuzzy score if higher
+     */
+    public List<NameSearchHit> search(String query, Type type, int limit, double minSimilarity) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit < 1) {
+            return Collections.emptyList();
+        }
+        Map<Entry, Double> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            matchPrefix(normalized, type, limit * PREFIX_SCAN_FACTOR, scores);
+            matchTrigrams(normalized, type, limit, minSimilarity, limit * FUZZY_SCAN_FACTOR, limit * FUZZY_COMPARE_FACTOR,
+                    scores);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Comparator<Map.Entry<Entry, Double>> best = Map.Entry.<Entry, Double>comparingByValue()
+                .thenComparing(score -> -score.getKey().normalized.length())
+                .thenComparing(score -> -score.getKey().id);
+        PriorityQueue<Map.Entry<Entry, Double>> top = new PriorityQueue<>(limit + 1, best);
+        for (Map.Entry<Entry, Double> score : scores.entrySet()) {
+            top.add(score);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<NameSearchHit> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Map.Entry<Entry, Double> score = top.poll();
+            Entry entry = score.getKey();
+            hits.add(NameSearchHit.builder()
+                    .type(entry.type)
+                    .id(entry.id)
+                    .name(entry.name)
+                    .artistId(entry.artistId)
+                    .score(Math.round(score.getValue() * 1000) / 1000.0)
+                    .build());
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private void matchPrefix(String query, Type type, int maxScanned, Map<Entry, Double> scores) {
+        int scanned = 0;
+        for (Set<Entry> matches : words.subMap(query, true, query + Character.MAX_VALUE, false).values()) {
+            for (Entry entry : matches) {
+                if (scanned++ >= maxScanned) {
+                    return;
+                }
+                if (type == null || entry.type == type) {
+                    double coverage = (double) query.length() / entry.normalized.length();
+                    double score = entry.normalized.startsWith(query) ? 0.9 + 0.1 * coverage : 0.7 + 0.1 * coverage;
+                    scores.merge(entry, score, Math::max);
+                }
+            }
+        }
+    }
+
+    /**
+     * ScanCount : the posting lists are read from the rarest, each position read counts one shared trigram for its name.
+     * The names are then compared by decreasing count : a name counted c times shares at most c + (lists not read) trigrams,
+     * its exact count is only computed when this bound can still enter the limit best scores.
+     */
+    private void matchTrigrams(String query, Type type, int limit, double minSimilarity, int maxRead, int maxCompared,
+                               Map<Entry, Double> scores) {
+        Set<String> queryTrigrams = trigrams(query);
+        int size = queryTrigrams.size();
+        List<Posting> queryPostings = new ArrayList<>(size);
+        for (String trigram : queryTrigrams) {
+            queryPostings.add(trigrams.getOrDefault(trigram, Posting.EMPTY));
+        }
+        int[] queryIds = queryPostings.stream().filter(posting -> posting != Posting.EMPTY)
+                .mapToInt(posting -> posting.id).sorted().toArray();
+        queryPostings.sort(Comparator.comparingInt(posting -> posting.size));
+
+        DocCounts counts = new DocCounts(Math.min(maxRead, queryPostings.stream().mapToInt(posting -> posting.size).sum()));
+        int read = 0;
+        int complete = 0;
+        scan:
+        for (Posting posting : queryPostings) {
+            if ((double) (size - complete) / size < minSimilarity) {
+                break;
+            }
+            for (int i = 0; i < posting.size; i++) {
+                if (read++ == maxRead) {
+                    break scan;
+                }
+                counts.increment(posting.docs[i]);
+            }
+            complete++;
+        }
+        int unread = size - complete;
+
+        PriorityQueue<Double> best = new PriorityQueue<>(limit + 1);
+        for (Double score : scores.values()) {
+            keepBest(best, score, limit);
+        }
+        double threshold = best.size() == limit ? Math.max(minSimilarity, best.peek()) : minSimilarity;
+        for (int slot : counts.slotsByDecreasingCount(size)) {
+            int maxShared = counts.counts[slot] + unread;
+            if (score(maxShared, size, maxShared) < threshold || (unread > 0 && maxCompared-- == 0)) {
+                return;
+            }
+            int doc = counts.docs[slot] - 1;
+            int nameTrigrams = docTrigrams[doc];
+            if (nameTrigrams == 0 || score(Math.min(maxShared, nameTrigrams), size, nameTrigrams) < threshold) {
+                continue;
+            }
+            Entry entry = docs[doc];
+            if (type != null && entry.type != type) {
+                continue;
+            }
+            int shared = unread == 0 ? counts.counts[slot] : shared(queryIds, entry.trigramIds);
+            double score = score(shared, size, nameTrigrams);
+            if (score >= threshold) {
+                Double previous = scores.get(entry);
+                if (previous == null) {
+                    keepBest(best, score, limit);
+                }
+                if (previous == null || previous < score) {
+                    scores.put(entry, score);
+                }
+                if (best.size() == limit) {
+                    threshold = Math.max(minSimilarity, best.peek());
+                }
+            }
+        }
+    }
+
+    /**
+     * mean of the pg_trgm similarity and of the coverage of the query
+     */
+    private static double score(int shared, int queryTrigrams, int nameTrigrams) {
+        if (shared == 0) {
+            return 0;
+        }
+        return ((double) shared / (queryTrigrams + nameTrigrams - shared) + (double) shared / queryTrigrams) / 2;
+    }
+
+    /**
+     * number of values found in both sorted arrays
+     */
+    private static int shared(int[] left, int[] right) {
+        int shared = 0;
+        for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                shared++;
+                i++;
+                j++;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * the limit best scores of distinct names, a name matching both by prefix and by trigrams only counts once
+     */
+    private static void keepBest(PriorityQueue<Double> best, double score, int limit) {
+        best.add(score);
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    private void removeEntry(Type type, long id) {
+        Entry entry = entries.get(type).remove(id);
+        if (entry == null) {
+            return;
+        }
+        docs[entry.doc] = null;
+        docTrigrams[entry.doc] = 0;
+        removedDocs++;
+        for (String word : entry.words) {
+            Set<Entry> posting = words.get(word);
+            if (posting != null && posting.remove(entry) && posting.isEmpty()) {
+                words.remove(word);
+            }
+        }
+        if (type == Type.SONG && entry.artistId != null) {
+            Set<Long> songIds = songsByArtist.get(entry.artistId);
+            if (songIds != null && songIds.remove(id) && songIds.isEmpty()) {
+                songsByArtist.remove(entry.artistId);
+            }
+        }
+        if (removedDocs >= MIN_COMPACTED_DOCS && removedDocs > docCount - removedDocs) {
+            compact();
+        }
+    }
+
+    /**
+     * renumbers the names without the holes and rebuilds the posting lists
+     */
+    private void compact() {
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            Entry entry = docs[doc];
+            if (entry != null) {
+                entry.doc = live;
+                docs[live] = entry;
+                docTrigrams[live++] = entry.trigramIds.length;
+            }
+        }
+        Arrays.fill(docs, live, docCount, null);
+        Arrays.fill(docTrigrams, live, docCount, 0);
+        docCount = live;
+        removedDocs = 0;
+        for (Posting posting : postings) {
+            posting.size = 0;
+        }
+        for (int doc = 0; doc < docCount; doc++) {
+            addPostings(docs[doc]);
+        }
+    }
+
+    private void addPostings(Entry entry) {
+        for (int trigramId : entry.trigramIds) {
+            postings.get(trigramId).add(entry.doc);
+        }
+    }
+
+    /**
+     * the numbers of the trigrams of a name, sorted, new trigrams are numbered here
+     */
+    private int[] trigramIds(String normalized) {
+        return trigrams(normalized).stream()
+                .mapToInt(trigram -> trigrams.computeIfAbsent(trigram, key -> {
+                    Posting posting = new Posting(postings.size());
+                    postings.add(posting);
+                    return posting;
+                }).id)
+                .sorted()
+                .toArray();
+    }
+
+    static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String withoutMarks = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(withoutMarks.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * trigrams of each word padded with two spaces before and one after, as pg_trgm
+     */
+    static Set<String> trigrams(String normalized) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * the name itself and the rest of the name from each of its words : a prefix of any word is a prefix of one of them
+     */
+    private static Set<String> words(String normalized) {
+        Set<String> words = new LinkedHashSet<>();
+        words.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            words.add(normalized.substring(i + 1));
+        }
+        return words;
+    }
+
+    private static final class Entry {
+        private final Type type;
+        private final long id;
+        private final String name;
+        private final String normalized;
+        private final Long artistId;
+        private final int[] trigramIds;
+        private final String[] words;
+        private int doc;
+
+        private Entry(Type type, long id, String name, String normalized, Long artistId, int[] trigramIds) {
+            this.type = type;
+            this.id = id;
+            this.name = name;
+            this.normalized = normalized;
+            this.artistId = artistId;
+            this.trigramIds = trigramIds;
+            this.words = NameSearchIndex.words(normalized).toArray(new String[0]);
+        }
+    }
+
+    /**
+     * open addressing table of the counts by position in docs, sized for the positions read
+     */
+    private static final class DocCounts {
+        /**
+         * position + 1, 0 for a free slot
+         */
+        private final int[] docs;
+        private final int[] counts;
+        private final int shift;
+        /**
+         * the used slots, in insertion order
+         */
+        private final int[] used;
+        private int size;
+
+        /**
+         * @param expected the positions read, at most
+         */
+        private DocCounts(int expected) {
+            int bits = 32 - Integer.numberOfLeadingZeros(Math.max(8, expected * 2) - 1);
+            docs = new int[1 << bits];
+            counts = new int[1 << bits];
+            shift = 32 - bits;
+            used = new int[expected];
+        }
+
+        private void increment(int doc) {
+            int slot = (doc * 0x9E3779B9) >>> shift;
+            while (docs[slot] != 0 && docs[slot] != doc + 1) {
+                slot = (slot + 1) & (docs.length - 1);
+            }
+            if (docs[slot] == 0) {
+                docs[slot] = doc + 1;
+                used[size++] = slot;
+            }
+            counts[slot]++;
+        }
+
+        /**
+         * counting sort of the used slots, a count is at most maxCount
+         */
+        private int[] slotsByDecreasingCount(int maxCount) {
+            int[] starts = new int[maxCount + 2];
+            for (int i = 0; i < size; i++) {
+                starts[maxCount - counts[used[i]] + 1]++;
+            }
+            for (int rank = 1; rank < starts.length; rank++) {
+                starts[rank] += starts[rank - 1];
+            }
+            int[] slots = new int[size];
+            for (int i = 0; i < size; i++) {
+                slots[starts[maxCount - counts[used[i]]]++] = used[i];
+            }
+            return slots;
+        }
+    }
+
+    /**
+     * positions in docs, in insertion order
+     */
+    private static final class Posting {
+        private static final Posting EMPTY = new Posting(-1);
+
+        private final int id;
+        private int[] docs = new int[4];
+        private int size;
+
+        private Posting(int id) {
+            this.id = id;
+        }
+
+        private void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.rest.playlist.search;
+
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurationContext;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
+
+/**
+ * Analyzer of the song titles and descriptions in the Lucene index, declared by
+ * hibernate.search.backend.analysis.configurer : the words are split on the Unicode word boundaries,
+ * case and accents are ignored ("Beyoncé" is found by "beyonce"), the words are not stemmed
+ * as the titles are written in several languages.
+ */
+public class SongAnalysisConfigurer implements LuceneAnalysisConfigurer {
+
+    public static final String TEXT = "song_text";
+
+    @Override
+    public void configure(LuceneAnalysisConfigurationContext context) {
+        context.analyzer(TEXT).custom()
+                .tokenizer(StandardTokenizerFactory.class)
+                .tokenFilter(LowerCaseFilterFactory.class)
+                .tokenFilter(ASCIIFoldingFilterFactory.class);
+    }
+}
@@ -0,0 +1,24 @@
+package com.rest.playlist.search;
+
+import lombok.Builder;
+import lombok.Getter;
+
+
+/**
+ * result of a full reindex of the songs : number of songs indexed and duration
+ * response eg :
+ * {"songs": 100000, "durationMs": 8412}
+ */
+
+@Getter
+public class SongReindexResult {
+
+    private long songs;
+    private long durationMs;
+
+    @Builder
+    private SongReindexResult(long songs, long durationMs) {
+        this.songs = songs;
+        this.durationMs = durationMs;
+    }
+}
@@ -0,0 +1,26 @@
+package com.rest.playlist.search;
+
+import com.rest.playlist.model.Song;
+import lombok.Builder;
+import lombok.Getter;
+
+
+/**
+ * one result of the full-text search of songs, score is the Lucene relevance (BM25) of the song for the query
+ * response eg :
+ * {"score": 3.42, "song": {"id": 102, "title": "Let It Be", "description": "...", "category": "POP", "duration": "4:03",
+ * "artist": {"id": 51, "name": "The Beatles", ...}}}
+ */
+
+@Getter
+public class SongSearchHit {
+
+    private float score;
+    private Song song;
+
+    @Builder
+    private SongSearchHit(float score, Song song) {
+        this.score = score;
+        this.song = song;
+    }
+}
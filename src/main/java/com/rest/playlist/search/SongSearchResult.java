@@ -0,0 +1,33 @@
+package com.rest.playlist.search;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+
+/**
+ * one page of the full-text search of songs, by decreasing relevance : total is the number of matching songs,
+ * tookMs the time spent in the index (the loading of the songs excluded)
+ * response eg :
+ * {"total": 57, "tookMs": 2, "page": 0, "size": 20, "hits": [{"score": 3.42, "song": {...}}, ...]}
+ */
+
+@Getter
+public class SongSearchResult {
+
+    private long total;
+    private long tookMs;
+    private int page;
+    private int size;
+    private List<SongSearchHit> hits;
+
+    @Builder
+    private SongSearchResult(long total, long tookMs, int page, int size, List<SongSearchHit> hits) {
+        this.total = total;
+        this.tookMs = tookMs;
+        this.page = page;
+        this.size = size;
+        this.hits = hits;
+    }
+}
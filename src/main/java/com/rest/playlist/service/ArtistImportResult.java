@@ -0,0 +1,39 @@
+package com.rest.playlist.service;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+
+/**
+ * result of the import of one artist, at the same index as in the imported array
+ * response eg :
+ * [
+ * {"index": 0, "status": "CREATED", "id": 51},
+ * {"index": 1, "status": "INVALID", "errors": ["popularity: popularity doit être entre 0 et 100"]}
+ * ]
+ */
+
+@Getter
+public class ArtistImportResult {
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        FAILED
+    }
+
+    private int index;
+    private Status status;
+    private Long id;
+    private List<String> errors;
+
+    @Builder
+    private ArtistImportResult(int index, Status status, Long id, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.errors = errors;
+    }
+}
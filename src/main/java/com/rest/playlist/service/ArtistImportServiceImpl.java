@@ -0,0 +1,140 @@
+package com.rest.playlist.service;
+
+import com.rest.playlist.event.ArtistChangedEvent;
+import com.rest.playlist.model.Artist;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Import of large artist catalogues.
+ * Each artist is validated with the same constraints as POST /api/artists (a null element is invalid),
+ * valid artists are inserted by chunks, each chunk in its own transaction with JDBC batching.
+ * A failing chunk is replayed row by row, so one bad row never rolls back the other rows.
+ * An ArtistChangedEvent is published for each created artist, the caches and the name index follow the committed chunks.
+ */
+@Service
+public class ArtistImportServiceImpl implements IArtistImportService {
+    private static final Logger log = LoggerFactory.getLogger(ArtistImportServiceImpl.class);
+
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize = 50;
+
+    public ArtistImportServiceImpl(Validator validator,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${playlist.import.chunk-size:1000}") int chunkSize) {
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ArtistImportResult> importArtists(List<Artist> artists) {
+        ArtistImportResult[] results = new ArtistImportResult[artists.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+
+        for (int i = 0; i < artists.size(); i++) {
+            if (artists.get(i) == null) {
+                results[i] = ArtistImportResult.builder()
+                        .index(i)
+                        .status(ArtistImportResult.Status.INVALID)
+                        .errors(Collections.singletonList("artist must not be null"))
+                        .build();
+                continue;
+            }
+            Set<ConstraintViolation<Artist>> violations = validator.validate(artists.get(i));
+            if (violations.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                results[i] = ArtistImportResult.builder()
+                        .index(i)
+                        .status(ArtistImportResult.Status.INVALID)
+                        .errors(violations.stream()
+                                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                                .sorted()
+                                .collect(Collectors.toList()))
+                        .build();
+            }
+        }
+
+        for (int from = 0; from < validIndexes.size(); from += chunkSize) {
+            List<Integer> chunk = validIndexes.subList(from, Math.min(from + chunkSize, validIndexes.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(artists, chunk));
+                chunk.forEach(i -> results[i] = created(i, artists.get(i)));
+            } catch (RuntimeException e) {
+                log.warn("Import chunk of {} artists failed, replaying it row by row", chunk.size(), e);
+                chunk.forEach(i -> results[i] = insertOne(artists, i));
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * the events are delivered after the commit of the chunk, they are dropped with a failed one
+     */
+    private void insert(List<Artist> artists, List<Integer> indexes) {
+        for (int j = 0; j < indexes.size(); j++) {
+            Artist artist = artists.get(indexes.get(j));
+            artist.setId(null);
+            entityManager.persist(artist);
+            if ((j + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        indexes.forEach(i -> eventPublisher.publishEvent(new ArtistChangedEvent(artists.get(i).getId(), artists.get(i).getName())));
+    }
+
+    private ArtistImportResult insertOne(List<Artist> artists, int index) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(artists, Collections.singletonList(index)));
+            return created(index, artists.get(index));
+        } catch (RuntimeException e) {
+            return ArtistImportResult.builder()
+                    .index(index)
+                    .status(ArtistImportResult.Status.FAILED)
+                    .errors(Collections.singletonList(e.getMessage()))
+                    .build();
+        }
+    }
+
+    private static ArtistImportResult created(int index, Artist artist) {
+        return ArtistImportResult.builder()
+                .index(index)
+                .status(ArtistImportResult.Status.CREATED)
+                .id(artist.getId())
+                .build();
+    }
+}
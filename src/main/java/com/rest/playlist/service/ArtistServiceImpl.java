@@ -1,14 +1,20 @@
 package com.rest.playlist.service;
 
+import com.rest.playlist.event.ArtistChangedEvent;
 import com.rest.playlist.web.exception.ResourceNotFoundException;
 import com.rest.playlist.model.Artist;
 import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.repository.ContentVersionView;
+import com.rest.playlist.repository.SongRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @Transactional
@@ -16,9 +22,16 @@ public class ArtistServiceImpl implements IArtistService {
     private static final Logger log = LoggerFactory.getLogger(ArtistServiceImpl.class);
 
     private final ArtistRepository artistRepository;
+    private final SongRepository songRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ISongSearchService songSearchService;
 
-    public ArtistServiceImpl(ArtistRepository artistRepository) {
+    public ArtistServiceImpl(ArtistRepository artistRepository, SongRepository songRepository,
+                             ApplicationEventPublisher eventPublisher, ISongSearchService songSearchService) {
         this.artistRepository = artistRepository;
+        this.songRepository = songRepository;
+        this.eventPublisher = eventPublisher;
+        this.songSearchService = songSearchService;
     }
 
     @Override
@@ -27,6 +40,12 @@ public class ArtistServiceImpl implements IArtistService {
         return artistRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Artist> getArtistsAfter(Long after, int limit) {
+        return artistRepository.findArtistsByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, PageRequest.of(0, limit));
+    }
+
 
     @Override
     @Transactional(readOnly = true)
@@ -38,26 +57,58 @@ public class ArtistServiceImpl implements IArtistService {
 
     @Override
     public Artist createArtist(Artist artist) {
-        return artistRepository.save(artist);
+        Artist savedArtist = artistRepository.save(artist);
+        eventPublisher.publishEvent(new ArtistChangedEvent(savedArtist.getId(), savedArtist.getName()));
+        return savedArtist;
     }
 
+    /**
+     * the managed artist is updated by dirty checking at the commit (only the changed columns),
+     * the request body is not merged
+     */
     @Override
     public Artist updateArtist(Artist artist) {
 
         Artist searchedArtist = artistRepository.findById(artist.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Not found artist with id = " + artist.getId()));
 
+        ArtistChangedEvent event = new ArtistChangedEvent(artist.getId(), searchedArtist.getName(), artist.getName());
+
         searchedArtist.setName(artist.getName());
         searchedArtist.setPopularity(artist.getPopularity());
 
-        return artistRepository.saveAndFlush(artist);
+        eventPublisher.publishEvent(event);
+        return searchedArtist;
     }
 
+    /**
+     * the songs of the artist and the artist are deleted with one statement each,
+     * instead of the cascade of Artist.songs (the songs loaded, then deleted one by one).
+     * Bulk statements bypass Envers : Song and Artist are not audited entities (see ArtistServiceIntegrationTest).
+     */
     @Override
     public void deleteArtistById(Long id) {
-        artistRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Not found artist with id = " + id));
+        String name = artistRepository.findArtistNameById(id).orElse(null);
+
+        songRepository.bulkDeleteByArtistId(id);
+        if (artistRepository.bulkDeleteById(id) == 0) {
+            throw new ResourceNotFoundException("Not found artist with id = " + id);
+        }
+        songSearchService.purgeSongsOfArtist(id);
+        eventPublisher.publishEvent(new ArtistChangedEvent(id, name));
+    }
 
-        artistRepository.deleteById(id);
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ContentVersion> getArtistVersion(Long id) {
+        ContentVersionView version = artistRepository.findArtistVersionById(id);
+        return version.getCount() == 0 ? Optional.empty() : Optional.of(ContentVersion.of(version));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ContentVersion> getArtistsVersion(Long after, int limit) {
+        return Optional.of(ContentVersion.ofRows(
+                artistRepository.findArtistRowVersionsAfter(after == null ? 0L : after, PageRequest.of(0, limit))));
     }
 }
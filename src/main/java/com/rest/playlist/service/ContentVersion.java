@@ -0,0 +1,129 @@
+package com.rest.playlist.service;
+
+import com.rest.playlist.model.AbstractAuditModel;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.ContentVersionView;
+import com.rest.playlist.repository.RowVersionView;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * ContentVersion is the validator of a GET response (strong ETag and Last-Modified).
+ * A list is versioned by its row count and last update (songs embed their artist, so the
+ * artist update counts too), a keyset page by the ids and update dates of its rows.
+ * The same version is computed from the loaded entities (200 responses) or from
+ * aggregate queries (conditional GET), so a 304 needs neither the entities nor Jackson.
+ * Only a single resource has a Last-Modified (lastModified is 0 for lists and pages) :
+ * a deleted row does not move the last update of a list, its row count in the ETag does.
+ */
+
+@Getter
+public class ContentVersion {
+
+    private final String etag;
+    private final long lastModified;
+
+    private ContentVersion(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public static ContentVersion of(ContentVersionView view) {
+        return aggregate(view.getCount(), max(view.getUpdatedAt(), view.getRelatedUpdatedAt()));
+    }
+
+    public static ContentVersion ofList(ContentVersionView view) {
+        return list(view.getCount(), max(view.getUpdatedAt(), view.getRelatedUpdatedAt()));
+    }
+
+    public static ContentVersion ofRows(List<RowVersionView> rows) {
+        return page(rows.stream()
+                .map(row -> new Row(row.getId(), row.getUpdatedAt(), row.getRelatedUpdatedAt()))
+                .collect(Collectors.toList()));
+    }
+
+    public static ContentVersion ofSong(Song song) {
+        return aggregate(1, max(updatedAt(song), updatedAt(song.getArtist())));
+    }
+
+    public static ContentVersion ofSongs(Collection<Song> songs) {
+        long lastModified = songs.stream()
+                .mapToLong(song -> max(updatedAt(song), updatedAt(song.getArtist())))
+                .max()
+                .orElse(0L);
+        return list(songs.size(), lastModified);
+    }
+
+    public static ContentVersion ofSongPage(List<Song> songs) {
+        return page(songs.stream()
+                .map(song -> new Row(song.getId(), updatedAt(song), updatedAt(song.getArtist())))
+                .collect(Collectors.toList()));
+    }
+
+    public static ContentVersion ofArtist(Artist artist) {
+        return aggregate(1, max(updatedAt(artist)));
+    }
+
+    public static ContentVersion ofArtistPage(List<Artist> artists) {
+        return page(artists.stream()
+                .map(artist -> new Row(artist.getId(), updatedAt(artist), updatedAt(artist)))
+                .collect(Collectors.toList()));
+    }
+
+    private static ContentVersion aggregate(long count, long lastModified) {
+        return new ContentVersion("\"" + count + "-" + Long.toHexString(lastModified) + "\"", lastModified);
+    }
+
+    private static ContentVersion list(long count, long lastModified) {
+        return new ContentVersion(aggregate(count, lastModified).getEtag(), 0L);
+    }
+
+    private static ContentVersion page(List<Row> rows) {
+        long lastModified = 0;
+        int hash = 1;
+        for (Row row : rows) {
+            long rowModified = max(row.updatedAt, row.relatedUpdatedAt);
+            lastModified = Math.max(lastModified, rowModified);
+            hash = 31 * hash + Objects.hash(row.id, rowModified);
+        }
+        return new ContentVersion("\"" + rows.size() + "-" + Long.toHexString(lastModified) + "-" + Integer.toHexString(hash) + "\"", 0L);
+    }
+
+    /**
+     * same rule as the queries : coalesce(updated_at, created_at)
+     */
+    private static Instant updatedAt(AbstractAuditModel model) {
+        if (model == null) {
+            return null;
+        }
+        return model.getUpdatedAt() != null ? model.getUpdatedAt() : model.getCreateAt();
+    }
+
+    private static long max(Instant... instants) {
+        return Stream.of(instants)
+                .filter(Objects::nonNull)
+                .mapToLong(Instant::toEpochMilli)
+                .max()
+                .orElse(0L);
+    }
+
+    private static final class Row {
+        private final Long id;
+        private final Instant updatedAt;
+        private final Instant relatedUpdatedAt;
+
+        private Row(Long id, Instant updatedAt, Instant relatedUpdatedAt) {
+            this.id = id;
+            this.updatedAt = updatedAt;
+            this.relatedUpdatedAt = relatedUpdatedAt;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.rest.playlist.service;
+
+import com.rest.playlist.model.Artist;
+
+import java.util.List;
+
+public interface IArtistImportService {
+
+    List<ArtistImportResult> importArtists(List<Artist> artists);
+}
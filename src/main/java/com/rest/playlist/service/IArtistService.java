@@ -3,11 +3,14 @@ package com.rest.playlist.service;
 import com.rest.playlist.model.Artist;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface IArtistService {
 
     List<Artist> getAllArtists();
 
+    List<Artist> getArtistsAfter(Long after, int limit);
+
     Artist getArtistById(Long id);
 
     Artist createArtist(Artist artist);
@@ -15,4 +18,8 @@ public interface IArtistService {
     Artist updateArtist(Artist artist);
 
     void deleteArtistById(Long id);
+
+    Optional<ContentVersion> getArtistVersion(Long id);
+
+    Optional<ContentVersion> getArtistsVersion(Long after, int limit);
 }
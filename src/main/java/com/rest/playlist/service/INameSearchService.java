@@ -0,0 +1,18 @@
+package com.rest.playlist.service;
+
+import com.rest.playlist.search.NameSearchHit;
+
+import java.time.Duration;
+import java.util.List;
+
+public interface INameSearchService {
+
+    List<NameSearchHit> searchNames(String query, String type, int limit);
+
+    void reindex();
+
+    /**
+     * waits until the writes committed before the call are in the index
+     */
+    boolean awaitSynced(Duration timeout) throws InterruptedException;
+}
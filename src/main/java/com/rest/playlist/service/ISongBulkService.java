@@ -0,0 +1,8 @@
+package com.rest.playlist.service;
+
+public interface ISongBulkService {
+
+    SongBulkResult deleteSongs(Long artistId, String category);
+
+    SongBulkResult updateSongsCategory(String category, String newCategory, Long artistId);
+}
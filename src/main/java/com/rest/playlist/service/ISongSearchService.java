@@ -0,0 +1,21 @@
+package com.rest.playlist.service;
+
+import com.rest.playlist.search.SongReindexResult;
+import com.rest.playlist.search.SongSearchResult;
+
+import java.util.Collection;
+
+public interface ISongSearchService {
+
+    SongSearchResult searchSongs(String query, int page, int size);
+
+    SongReindexResult reindex();
+
+    /**
+     * removes from the index the songs deleted by a bulk statement of the current transaction,
+     * the automatic indexing only follows the entities written through the persistence context
+     */
+    void purgeSongs(Collection<Long> songIds);
+
+    void purgeSongsOfArtist(Long artistId);
+}
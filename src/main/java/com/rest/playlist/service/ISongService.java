@@ -3,11 +3,17 @@ package com.rest.playlist.service;
 import com.rest.playlist.model.Song;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ISongService {
 
     List<Song> getAllSongs();
 
+    List<Song> getSongsAfter(Long after, int limit);
+
+    void exportSongs(Consumer<Song> consumer);
+
     List<Song> getSongsByCategory(String category);
 
     List<Song> getSongsByArtistName(String name);
@@ -16,7 +22,17 @@ public interface ISongService {
 
     Song createSong(Song song);
 
+    List<Song> createSongs(List<Song> songs);
+
     Song updateSong(Song song);
 
     void deleteSongById(Long id);
+
+    Optional<ContentVersion> getSongVersion(Long id);
+
+    Optional<ContentVersion> getSongsVersion(Long after, int limit);
+
+    Optional<ContentVersion> getSongsByCategoryVersion(String category);
+
+    Optional<ContentVersion> getSongsByArtistNameVersion(String name);
 }
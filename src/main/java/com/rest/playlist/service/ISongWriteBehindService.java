@@ -0,0 +1,16 @@
+package com.rest.playlist.service;
+
+import com.rest.playlist.model.Song;
+
+import java.time.Duration;
+
+public interface ISongWriteBehindService {
+
+    boolean isEnabled();
+
+    Song submit(Song song);
+
+    SongWriteBehindStatus getStatus();
+
+    boolean awaitWritten(Duration timeout) throws InterruptedException;
+}
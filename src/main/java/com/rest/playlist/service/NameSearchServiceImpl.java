@@ -0,0 +1,236 @@
+package com.rest.playlist.service;
+
+import com.rest.playlist.event.ArtistChangedEvent;
+import com.rest.playlist.event.SongChangedEvent;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.repository.NameView;
+import com.rest.playlist.repository.SongRepository;
+import com.rest.playlist.search.NameSearchHit;
+import com.rest.playlist.search.NameSearchIndex;
+import com.rest.playlist.web.exception.BadRequestException;
+import com.rest.playlist.web.exception.ResourceNotFoundException;
+import org.apache.commons.lang3.EnumUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Search of artist names and song titles by prefix and by similarity, served by a NameSearchIndex in memory.
+ * The index is built when the application is ready and kept in sync with the committed writes :
+ * the songs and artists of each SongChangedEvent / ArtistChangedEvent are read again by id (a missing row is removed),
+ * so the bulk operations and the write-behind inserts are followed as well as the single writes.
+ * The reads run on one sync thread, after the response of the write : the writes keep their statements and latency,
+ * the index follows them a few milliseconds later, in the order of the commits.
+ * The song ids of the events waiting for the sync thread are read together, with one select :
+ * under writes the sync costs one transaction per batch of commits and not one per commit.
+ * A reindex runs on the same thread : it builds a new index while the current one keeps serving,
+ * the writes committed meanwhile are applied after it.
+ */
+@Service
+public class NameSearchServiceImpl implements INameSearchService {
+    private static final Logger log = LoggerFactory.getLogger(NameSearchServiceImpl.class);
+
+    private static final int IDS_CHUNK_SIZE = 1000;
+
+    private final SongRepository songRepository;
+    private final ArtistRepository artistRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final double minSimilarity;
+
+    private final ExecutorService syncExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "name-search-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile NameSearchIndex index = new NameSearchIndex();
+    /**
+     * song ids waiting for the sync thread, a sync is submitted when the first id is added
+     */
+    private final Set<Long> pendingSongIds = new LinkedHashSet<>();
+
+    public NameSearchServiceImpl(SongRepository songRepository,
+                                 ArtistRepository artistRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${playlist.name-search.enabled:true}") boolean enabled,
+                                 @Value("${playlist.name-search.min-similarity:0.3}") double minSimilarity) {
+        this.songRepository = songRepository;
+        this.artistRepository = artistRepository;
+        // read-write transactions : the rows are read on the primary, a lagging replica would hide the new rows
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.minSimilarity = minSimilarity;
+    }
+
+    @Override
+    public List<NameSearchHit> searchNames(String query, String type, int limit) {
+        if (!enabled) {
+            throw new ResourceNotFoundException("Not found name search index");
+        }
+        if (query == null || query.trim().isEmpty()) {
+            throw new BadRequestException("Missing query, q must not be blank");
+        }
+        NameSearchIndex.Type searchedType = null;
+        if (type != null) {
+            searchedType = EnumUtils.getEnumIgnoreCase(NameSearchIndex.Type.class, type);
+            if (searchedType == null) {
+                throw new BadRequestException("Invalid type with value = " + type + ", must be ARTIST or SONG");
+            }
+        }
+        return index.search(query, searchedType, limit, minSimilarity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            reindex();
+        }
+    }
+
+    /**
+     * waits for the index build, the requests keep being served by the current index
+     */
+    @Override
+    public void reindex() {
+        try {
+            syncExecutor.submit(this::build).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Name search index build failed", e.getCause());
+        }
+    }
+
+    @Override
+    public boolean awaitSynced(Duration timeout) throws InterruptedException {
+        try {
+            syncExecutor.submit(() -> { }).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSongChanged(SongChangedEvent event) {
+        if (!enabled || event.getSongIds().isEmpty()) {
+            return;
+        }
+        boolean submit;
+        synchronized (pendingSongIds) {
+            submit = pendingSongIds.isEmpty();
+            pendingSongIds.addAll(event.getSongIds());
+        }
+        if (submit) {
+            sync(this::syncPendingSongs);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArtistChanged(ArtistChangedEvent event) {
+        if (!enabled || event.getArtistId() == null) {
+            return;
+        }
+        Long artistId = event.getArtistId();
+        sync(() -> syncArtist(artistId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        syncExecutor.shutdownNow();
+    }
+
+    /**
+     * the writes committed while the application stops are not followed
+     */
+    private void sync(Runnable task) {
+        try {
+            syncExecutor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Name search index sync failed, the index is fixed by the next write or reindex", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Name search index is stopped, write not followed");
+        }
+    }
+
+    private void build() {
+        long start = System.nanoTime();
+        NameSearchIndex newIndex = new NameSearchIndex();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<NameView> artists = artistRepository.streamArtistNames()) {
+                artists.forEach(artist -> newIndex.put(NameSearchIndex.Type.ARTIST, artist.getId(), artist.getName(), artist.getId()));
+            }
+            try (Stream<NameView> songs = songRepository.streamSongNames()) {
+                songs.forEach(song -> newIndex.put(NameSearchIndex.Type.SONG, song.getId(), song.getName(), song.getArtistId()));
+            }
+        });
+        index = newIndex;
+        log.info("Name search index built with {} artists and {} songs in {} ms",
+                newIndex.size(NameSearchIndex.Type.ARTIST), newIndex.size(NameSearchIndex.Type.SONG),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void syncPendingSongs() {
+        List<Long> songIds;
+        synchronized (pendingSongIds) {
+            songIds = new ArrayList<>(pendingSongIds);
+            pendingSongIds.clear();
+        }
+        syncSongs(songIds);
+    }
+
+    private void syncSongs(Collection<Long> songIds) {
+        List<Long> ids = new ArrayList<>(songIds);
+        for (int from = 0; from < ids.size(); from += IDS_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IDS_CHUNK_SIZE, ids.size()));
+            List<NameView> songs = transactionTemplate.execute(status -> songRepository.findSongNamesByIdIn(chunk));
+            Set<Long> missing = new HashSet<>(chunk);
+            for (NameView song : songs) {
+                index.put(NameSearchIndex.Type.SONG, song.getId(), song.getName(), song.getArtistId());
+                missing.remove(song.getId());
+            }
+            missing.forEach(id -> index.remove(NameSearchIndex.Type.SONG, id));
+        }
+    }
+
+    /**
+     * a deleted artist takes its songs with it (see ArtistServiceImpl.deleteArtistById)
+     */
+    private void syncArtist(Long artistId) {
+        String name = transactionTemplate.execute(status -> artistRepository.findArtistNameById(artistId).orElse(null));
+        if (name == null) {
+            index.removeArtist(artistId);
+        } else {
+            index.put(NameSearchIndex.Type.ARTIST, artistId, name, artistId);
+        }
+    }
+}
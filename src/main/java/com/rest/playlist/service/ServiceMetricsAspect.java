@@ -0,0 +1,99 @@
+package com.rest.playlist.service;
+
+import com.rest.playlist.web.exception.BadRequestException;
+import com.rest.playlist.web.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.validation.ValidationException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every method of ISongService and IArtistService in the "playlist.service" timer
+ * (percentile histogram), tagged by service, method and outcome : the count of each
+ * outcome (success, not_found, validation_error, error) is the counter of the outcome.
+ * The aspect wraps the transaction and the result caches, so commit time and cache hits are measured.
+ * Timers are resolved once per method and outcome, a call only reads the clock twice.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    public static final String METRIC_NAME = "playlist.service";
+
+    enum Outcome {
+        SUCCESS("success"),
+        NOT_FOUND("not_found"),
+        VALIDATION_ERROR("validation_error"),
+        ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+
+        /**
+         * the bean validation of the entities runs at flush, the commit wraps its exception
+         */
+        static Outcome of(Throwable e) {
+            if (e instanceof ResourceNotFoundException) {
+                return NOT_FOUND;
+            }
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof ValidationException || cause instanceof BadRequestException) {
+                    return VALIDATION_ERROR;
+                }
+            }
+            return ERROR;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.rest.playlist.service.ISongService.*(..)) || execution(* com.rest.playlist.service.IArtistService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = meterRegistry.config().clock().monotonicTime();
+        Outcome outcome = Outcome.SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = Outcome.of(e);
+            throw e;
+        } finally {
+            timers.computeIfAbsent(method, this::register)[outcome.ordinal()]
+                    .record(meterRegistry.config().clock().monotonicTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer[] register(Method method) {
+        Timer[] methodTimers = new Timer[Outcome.values().length];
+        for (Outcome outcome : Outcome.values()) {
+            methodTimers[outcome.ordinal()] = Timer.builder(METRIC_NAME)
+                    .description("Latency of the song and artist service methods")
+                    .tag("service", method.getDeclaringClass().getSimpleName())
+                    .tag("method", method.getName())
+                    .tag("outcome", outcome.tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+        return methodTimers;
+    }
+}
@@ -0,0 +1,24 @@
+package com.rest.playlist.service;
+
+import lombok.Builder;
+import lombok.Getter;
+
+
+/**
+ * result of a bulk delete or update of songs : number of changed rows and number of chunks (transactions)
+ * response eg :
+ * {"affected": 2500, "chunks": 3}
+ */
+
+@Getter
+public class SongBulkResult {
+
+    private long affected;
+    private int chunks;
+
+    @Builder
+    private SongBulkResult(long affected, int chunks) {
+        this.affected = affected;
+        this.chunks = chunks;
+    }
+}
@@ -0,0 +1,159 @@
+package com.rest.playlist.service;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.event.SongChangedEvent;
+import com.rest.playlist.repository.SongKeysView;
+import com.rest.playlist.repository.SongRepository;
+import com.rest.playlist.web.exception.BadRequestException;
+import org.apache.commons.lang3.EnumUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk deletes and updates of songs selected by a filter (artist and / or category).
+ * The rows are changed by set-based statements, by chunks of ids, each chunk in its own transaction :
+ * the locks are held for one chunk only and no song is loaded in the persistence context.
+ * Only the keys of a chunk are read (id, category, artist name) : the statement changes these ids only,
+ * so every changed row is in the change event of its chunk.
+ * A chunk already committed is not rolled back when a later chunk fails.
+ */
+@Service
+public class SongBulkServiceImpl implements ISongBulkService {
+    private static final Logger log = LoggerFactory.getLogger(SongBulkServiceImpl.class);
+
+    private final SongRepository songRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ISongSearchService songSearchService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public SongBulkServiceImpl(SongRepository songRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               ISongSearchService songSearchService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${playlist.bulk.chunk-size:1000}") int chunkSize) {
+        this.songRepository = songRepository;
+        this.eventPublisher = eventPublisher;
+        this.songSearchService = songSearchService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SongBulkResult deleteSongs(Long artistId, String category) {
+        SongCategory searchedCategory = category == null ? null : category(category);
+        if (artistId == null && searchedCategory == null) {
+            throw new BadRequestException("Missing filter, artistId or category is required");
+        }
+        return execute(artistId, searchedCategory, null,
+                ids -> songRepository.bulkDeleteByFilter(artistId, searchedCategory, ids));
+    }
+
+    /**
+     * updated_at is written by the statement : the ETags of the moved songs change
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SongBulkResult updateSongsCategory(String category, String newCategory, Long artistId) {
+        SongCategory searchedCategory = category(category);
+        SongCategory targetCategory = category(newCategory);
+        return execute(artistId, searchedCategory, targetCategory,
+                ids -> songRepository.bulkUpdateCategoryByFilter(artistId, searchedCategory, ids,
+                        targetCategory, Instant.now()));
+    }
+
+    private SongBulkResult execute(Long artistId, SongCategory category, SongCategory newCategory, ChunkStatement statement) {
+        long affected = 0;
+        int chunks = 0;
+        long after = 0L;
+        while (true) {
+            long from = after;
+            Chunk chunk = transactionTemplate.execute(status -> chunk(artistId, category, newCategory, from, statement));
+            if (chunk == null) {
+                break;
+            }
+            affected += chunk.affected;
+            chunks++;
+            after = chunk.lastId;
+        }
+        log.info("Bulk {} of songs (artistId = {}, category = {}) : {} rows in {} chunks",
+                newCategory == null ? "delete" : "update to " + newCategory, artistId, category, affected, chunks);
+        return SongBulkResult.builder()
+                .affected(affected)
+                .chunks(chunks)
+                .build();
+    }
+
+    /**
+     * the statement is bounded by the ids read and repeats the filter : a row changed meanwhile is skipped
+     */
+    private Chunk chunk(Long artistId, SongCategory category, SongCategory newCategory, long after, ChunkStatement statement) {
+        List<SongKeysView> keys = songRepository.findSongKeysByFilterAfter(artistId, category, after, PageRequest.of(0, chunkSize));
+        if (keys.isEmpty()) {
+            return null;
+        }
+        List<Long> ids = keys.stream().map(SongKeysView::getId).collect(Collectors.toList());
+        long lastId = ids.get(ids.size() - 1);
+        int affected = statement.execute(ids);
+        if (newCategory == null) {
+            songSearchService.purgeSongs(deletedIds(ids, affected));
+        }
+
+        SongChangedEvent event = new SongChangedEvent();
+        keys.forEach(key -> event.add(key.getId(), key.getCategory(), key.getArtistName()));
+        if (newCategory != null) {
+            keys.forEach(key -> event.add(key.getId(), newCategory, key.getArtistName()));
+        }
+        eventPublisher.publishEvent(event);
+        return new Chunk(lastId, affected);
+    }
+
+    /**
+     * the songs skipped by the statement (changed meanwhile) are still in the table and stay in the search index
+     */
+    private List<Long> deletedIds(List<Long> ids, int affected) {
+        List<Long> deleted = new ArrayList<>(ids);
+        if (affected < ids.size()) {
+            songRepository.findSongNamesByIdIn(ids).forEach(song -> deleted.remove(song.getId()));
+        }
+        return deleted;
+    }
+
+    private static SongCategory category(String category) {
+        SongCategory searchedCategory = EnumUtils.getEnumIgnoreCase(SongCategory.class, category);
+        if (searchedCategory == null) {
+            throw new BadRequestException("Invalid category with value = " + category);
+        }
+        return searchedCategory;
+    }
+
+    private interface ChunkStatement {
+        int execute(List<Long> ids);
+    }
+
+    private static class Chunk {
+        private final long lastId;
+        private final int affected;
+
+        private Chunk(long lastId, int affected) {
+            this.lastId = lastId;
+            this.affected = affected;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.rest.playlist.service;
+
+import com.rest.playlist.config.CacheConfig;
+import com.rest.playlist.event.ArtistChangedEvent;
+import com.rest.playlist.event.SongChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts the song result caches once a write is committed :
+ * a song write evicts only its categories and artist names,
+ * an artist write evicts its names and the category lists (songs embed their artist).
+ */
+@Component
+public class SongCacheEvictionListener {
+
+    private final SongListCache songListCache;
+
+    public SongCacheEvictionListener(SongListCache songListCache) {
+        this.songListCache = songListCache;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSongChanged(SongChangedEvent event) {
+        event.getCategories().forEach(category -> songListCache.evict(CacheConfig.SONGS_BY_CATEGORY, category.name()));
+        event.getArtistNames().forEach(name -> songListCache.evict(CacheConfig.SONGS_BY_ARTIST_NAME, name));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArtistChanged(ArtistChangedEvent event) {
+        songListCache.clear(CacheConfig.SONGS_BY_CATEGORY);
+        event.getArtistNames().forEach(name -> songListCache.evict(CacheConfig.SONGS_BY_ARTIST_NAME, name));
+    }
+}
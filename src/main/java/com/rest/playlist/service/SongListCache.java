@@ -0,0 +1,188 @@
+package com.rest.playlist.service;
+
+import com.rest.playlist.datasource.ReplicaRoutingDataSource;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Result caches of the song lists (see CacheConfig), read by SongServiceImpl and evicted by SongCacheEvictionListener.
+ * A list is stored only if its key was not evicted since its select started : a list read before a commit
+ * never lands in the cache after the eviction of this commit. The last evictions are kept for this check,
+ * the evictions of other keys do not prevent the put (a slow list would otherwise never be stored under writes).
+ * A list read from a replica is not stored either : the replica may still miss commits already evicted.
+ * The cache keeps its own detached copies of the songs and their artists, each caller gets new copies :
+ * the songs returned to one request are never shared with another one.
+ * A miss waits for the select of the same key already running, if this key was not evicted since it started,
+ * instead of running the same select again : under writes a long list is evicted before most of its selects end,
+ * the requests arriving meanwhile share one select.
+ */
+@Component
+public class SongListCache {
+
+    private static final int EVICTION_LOG_SIZE = 1024;
+
+    private final CacheManager cacheManager;
+    private final Deque<Eviction> evictions = new ArrayDeque<>();
+    private final ConcurrentMap<List<Object>, Load> loads = new ConcurrentHashMap<>();
+    private long generation;
+
+    public SongListCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Song> get(String cacheName, Object key, Supplier<List<Song>> loader) {
+        Cache cache = cache(cacheName);
+        long readGeneration = generation();
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            return copy((List<Song>) cached.get());
+        }
+        List<Object> loadKey = Arrays.asList(cacheName, key);
+        Load load = new Load(readGeneration);
+        Load running = loads.putIfAbsent(loadKey, load);
+        if (running != null) {
+            List<Song> shared = running.isFresh(cacheName, key) ? running.songs.join() : null;
+            if (shared != null) {
+                return copy(shared);
+            }
+            load = null;
+        }
+        try {
+            long replicaReads = ReplicaRoutingDataSource.replicaReads();
+            List<Song> songs = loader.get();
+            if (ReplicaRoutingDataSource.replicaReads() != replicaReads) {
+                return songs;
+            }
+            List<Song> copies = Collections.unmodifiableList(copy(songs));
+            if (load != null) {
+                load.songs.complete(copies);
+            }
+            put(cache, cacheName, key, copies, readGeneration);
+            return songs;
+        } finally {
+            if (load != null) {
+                load.songs.complete(null);
+                loads.remove(loadKey, load);
+            }
+        }
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    private synchronized void put(Cache cache, String cacheName, Object key, List<Song> songs, long readGeneration) {
+        if (!evictedSince(cacheName, key, readGeneration)) {
+            cache.put(key, songs);
+        }
+    }
+
+    /**
+     * a read older than the kept evictions is taken as evicted
+     */
+    private boolean evictedSince(String cacheName, Object key, long readGeneration) {
+        long missed = generation - readGeneration;
+        if (missed > evictions.size()) {
+            return true;
+        }
+        Iterator<Eviction> newest = evictions.descendingIterator();
+        for (long i = 0; i < missed; i++) {
+            if (newest.next().matches(cacheName, key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized void evict(String cacheName, Object key) {
+        log(new Eviction(cacheName, key));
+        cache(cacheName).evict(key);
+    }
+
+    public synchronized void clear(String cacheName) {
+        log(new Eviction(cacheName, null));
+        cache(cacheName).clear();
+    }
+
+    private void log(Eviction eviction) {
+        generation++;
+        evictions.addLast(eviction);
+        if (evictions.size() > EVICTION_LOG_SIZE) {
+            evictions.removeFirst();
+        }
+    }
+
+    /**
+     * the songs of one artist share the copy of their artist
+     */
+    private static List<Song> copy(List<Song> songs) {
+        Map<Long, Artist> artists = new HashMap<>();
+        List<Song> copies = new ArrayList<>(songs.size());
+        for (Song song : songs) {
+            Song copy = song.copy();
+            if (song.getArtist() != null) {
+                copy.setArtist(artists.computeIfAbsent(song.getArtist().getId(), id -> song.getArtist().copy()));
+            }
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    private Cache cache(String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), "Not found cache with name = " + name);
+    }
+
+    /**
+     * the eviction of a key, or of the whole cache when key is null
+     */
+    private static class Eviction {
+        private final String cacheName;
+        private final Object key;
+
+        Eviction(String cacheName, Object key) {
+            this.cacheName = cacheName;
+            this.key = key;
+        }
+
+        boolean matches(String cacheName, Object key) {
+            return this.cacheName.equals(cacheName) && (this.key == null || this.key.equals(key));
+        }
+    }
+
+    /**
+     * a running select, its songs are null when it failed or read from a replica
+     */
+    private class Load {
+        private final long readGeneration;
+        private final CompletableFuture<List<Song>> songs = new CompletableFuture<>();
+
+        Load(long readGeneration) {
+            this.readGeneration = readGeneration;
+        }
+
+        boolean isFresh(String cacheName, Object key) {
+            synchronized (SongListCache.this) {
+                return !evictedSince(cacheName, key, readGeneration);
+            }
+        }
+    }
+}
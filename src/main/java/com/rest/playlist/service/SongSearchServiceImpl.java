@@ -0,0 +1,245 @@
+package com.rest.playlist.service;
+
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.SongRepository;
+import com.rest.playlist.search.SongReindexResult;
+import com.rest.playlist.search.SongSearchHit;
+import com.rest.playlist.search.SongSearchResult;
+import com.rest.playlist.web.exception.BadRequestException;
+import com.rest.playlist.web.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.graph.GraphSemantic;
+import org.hibernate.search.engine.search.common.BooleanOperator;
+import org.hibernate.search.engine.search.query.SearchResult;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.common.EntityReference;
+import org.hibernate.search.mapper.orm.massindexing.MassIndexingMonitor;
+import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search of the song titles and descriptions, served by a Lucene index on the local disk (Hibernate Search).
+ * The songs created and updated through the persistence context are indexed at the commit of their transaction
+ * (read-sync : the next search sees them), the songs deleted by bulk statements are purged explicitly
+ * by the services deleting them (see purgeSongs).
+ * The hits are ranked by relevance (BM25), a word of the title weighs twice a word of the description,
+ * the songs of a page are loaded with their artist in one select.
+ * Each search is timed in the "playlist.song.search" timer (percentile histogram) :
+ * phase=index is the time spent in Lucene, phase=total includes the loading of the songs.
+ */
+@Service
+public class SongSearchServiceImpl implements ISongSearchService {
+    private static final Logger log = LoggerFactory.getLogger(SongSearchServiceImpl.class);
+
+    public static final String METRIC_NAME = "playlist.song.search";
+
+    static final int MAX_RESULT_WINDOW = 10_000;
+
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String ARTIST_ID = "artist.id";
+    private static final float TITLE_BOOST = 2f;
+
+    private final SongRepository songRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int reindexThreads;
+    private final int reindexBatchSize;
+    private final Timer indexTimer;
+    private final Timer totalTimer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public SongSearchServiceImpl(SongRepository songRepository,
+                                 EntityManagerFactory entityManagerFactory,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${spring.jpa.properties.hibernate.search.enabled:true}") boolean enabled,
+                                 @Value("${playlist.song-search.reindex.threads:4}") int reindexThreads,
+                                 @Value("${playlist.song-search.reindex.batch-size:100}") int reindexBatchSize) {
+        this.songRepository = songRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.reindexThreads = reindexThreads;
+        this.reindexBatchSize = reindexBatchSize;
+        this.indexTimer = timer(meterRegistry, "index");
+        this.totalTimer = timer(meterRegistry, "total");
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder(METRIC_NAME)
+                .description("Full-text search of the songs")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SongSearchResult searchSongs(String query, int page, int size) {
+        checkEnabled();
+        if (query == null || query.trim().isEmpty()) {
+            throw new BadRequestException("Missing query, q must not be blank");
+        }
+        if ((long) (page + 1) * size > MAX_RESULT_WINDOW) {
+            throw new BadRequestException("Invalid page with value = " + page + ", (page + 1) * size must not exceed " + MAX_RESULT_WINDOW);
+        }
+        long start = System.nanoTime();
+        EntityGraph<Song> withArtist = entityManager.createEntityGraph(Song.class);
+        withArtist.addAttributeNodes("artist");
+
+        SearchResult<SongSearchHit> result = Search.session(entityManager).search(Song.class)
+                .select(f -> f.composite((song, score) -> SongSearchHit.builder().song(song).score(score).build(),
+                        f.entity(), f.score()))
+                .where(f -> f.simpleQueryString()
+                        .field(TITLE).boost(TITLE_BOOST)
+                        .field(DESCRIPTION)
+                        .matching(query)
+                        .defaultOperator(BooleanOperator.AND))
+                .loading(o -> o.graph(withArtist, GraphSemantic.FETCH))
+                .fetch(page * size, size);
+
+        indexTimer.record(result.took());
+        totalTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return SongSearchResult.builder()
+                .total(result.total().hitCount())
+                .tookMs(result.took().toMillis())
+                .page(page)
+                .size(size)
+                .hits(result.hits())
+                .build();
+    }
+
+    /**
+     * the index is rebuilt from the songs table : the songs are loaded by batches on parallel threads,
+     * each in its own transaction, the searches keep being served meanwhile (by a partial index)
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SongReindexResult reindex() {
+        checkEnabled();
+        long start = System.nanoTime();
+        CountingMonitor monitor = new CountingMonitor();
+        try {
+            Search.mapping(entityManagerFactory).scope(Song.class).massIndexer()
+                    .threadsToLoadObjects(reindexThreads)
+                    .batchSizeToLoadObjects(reindexBatchSize)
+                    .monitor(monitor)
+                    .startAndWait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Song search reindex interrupted", e);
+        }
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("Song search index rebuilt with {} songs in {} ms", monitor.added.get(), durationMs);
+        return SongReindexResult.builder()
+                .songs(monitor.added.get())
+                .durationMs(durationMs)
+                .build();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void purgeSongs(Collection<Long> songIds) {
+        if (!enabled || songIds.isEmpty()) {
+            return;
+        }
+        SearchSession searchSession = Search.session(entityManager);
+        songIds.forEach(id -> searchSession.indexingPlan().purge(Song.class, id, null));
+    }
+
+    /**
+     * the songs of the artist are found in the index itself, they are already deleted from the table
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void purgeSongsOfArtist(Long artistId) {
+        if (!enabled) {
+            return;
+        }
+        List<EntityReference> songs = Search.session(entityManager).search(Song.class)
+                .select(f -> f.entityReference())
+                .where(f -> f.match().field(ARTIST_ID).matching(artistId))
+                .fetchAllHits();
+        purgeSongs(songs.stream().map(song -> (Long) song.id()).collect(Collectors.toList()));
+    }
+
+    /**
+     * the index is built on the first start (or after its directory is removed), later starts reuse it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        boolean missing = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                Search.session(entityManager).search(Song.class).where(f -> f.matchAll()).fetchTotalHitCount() == 0
+                        && songRepository.count() > 0));
+        if (missing) {
+            reindex();
+        }
+    }
+
+    private void checkEnabled() {
+        if (!enabled) {
+            throw new ResourceNotFoundException("Not found song search index");
+        }
+    }
+
+    private static class CountingMonitor implements MassIndexingMonitor {
+
+        private static final long LOG_INTERVAL = 50_000;
+
+        private final AtomicLong added = new AtomicLong();
+        private final AtomicLong total = new AtomicLong();
+
+        @Override
+        public void documentsAdded(long increment) {
+            long current = added.addAndGet(increment);
+            if (current / LOG_INTERVAL != (current - increment) / LOG_INTERVAL) {
+                log.info("Song search reindex : {} / {} songs", current, total.get());
+            }
+        }
+
+        @Override
+        public void documentsBuilt(long increment) {
+        }
+
+        @Override
+        public void entitiesLoaded(long increment) {
+        }
+
+        @Override
+        public void addToTotalCount(long increment) {
+            total.addAndGet(increment);
+        }
+
+        @Override
+        public void indexingCompleted() {
+        }
+    }
+}
@@ -1,19 +1,37 @@
 package com.rest.playlist.service;
 
+import com.rest.playlist.config.CacheConfig;
 import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.event.SongChangedEvent;
 import com.rest.playlist.web.exception.ResourceNotFoundException;
 import com.rest.playlist.model.Artist;
 import com.rest.playlist.model.Song;
 import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.repository.ContentVersionView;
 import com.rest.playlist.repository.SongRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.hibernate.Hibernate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.commons.lang3.EnumUtils;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityNotFoundException;
+import javax.persistence.PersistenceContext;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -22,10 +40,21 @@ public class SongServiceImpl implements ISongService {
 
     private final SongRepository songRepository;
     private final ArtistRepository artistRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SongListCache songListCache;
 
-    public SongServiceImpl(SongRepository songRepository, ArtistRepository artistRepository) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize = 50;
+
+    public SongServiceImpl(SongRepository songRepository, ArtistRepository artistRepository,
+                           ApplicationEventPublisher eventPublisher, SongListCache songListCache) {
         this.songRepository = songRepository;
         this.artistRepository = artistRepository;
+        this.eventPublisher = eventPublisher;
+        this.songListCache = songListCache;
     }
 
     @Override
@@ -34,6 +63,30 @@ public class SongServiceImpl implements ISongService {
         return songRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Song> getSongsAfter(Long after, int limit) {
+        return songRepository.findSongsByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, PageRequest.of(0, limit));
+    }
+
+    /**
+     * each song is detached once consumed, so the persistence context
+     * does not grow with the size of the table
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportSongs(Consumer<Song> consumer) {
+        try (Stream<Song> songs = songRepository.streamAllSongs()) {
+            songs.forEach(song -> {
+                consumer.accept(song);
+                entityManager.detach(song);
+                if (song.getArtist() != null) {
+                    entityManager.detach(song.getArtist());
+                }
+            });
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Song> getSongsByCategory(String category) {
@@ -41,21 +94,25 @@ public class SongServiceImpl implements ISongService {
         if (searchedCategory == null) {
             throw new ResourceNotFoundException("Not found Category with value = " + category);
         }
-        return songRepository.findSongsByCategory(searchedCategory);
+        return songListCache.get(CacheConfig.SONGS_BY_CATEGORY, searchedCategory.name(),
+                () -> songRepository.findSongsByCategory(searchedCategory));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Song> getSongsByArtistName(String name) {
-        return songRepository.findSongsByArtist_Name(name);
+        return songListCache.get(CacheConfig.SONGS_BY_ARTIST_NAME, name, () -> songRepository.findSongsByArtist_Name(name));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Song getSongById(Long id) {
 
-        return songRepository.findById(id)
+        Song song = songRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Not found song with id = " + id));
+        // the song may come from the second-level cache with a lazy artist, the artist is read from its own region
+        Hibernate.initialize(song.getArtist());
+        return song;
     }
 
     @Override
@@ -63,32 +120,127 @@ public class SongServiceImpl implements ISongService {
         Artist artist = artistRepository.findById(song.getArtist().getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Not found artist with id = " + song.getArtist().getId()));
         song.setArtist(artist);
-        return songRepository.save(song);
+        Song savedSong = songRepository.save(song);
+        eventPublisher.publishEvent(SongChangedEvent.of(Collections.singletonList(savedSong)));
+        return savedSong;
     }
 
+    /**
+     * all the artists are resolved with one select, then songs are inserted
+     * by JDBC batches : the persistence context is flushed and cleared every batch
+     */
     @Override
-    public Song updateSong(Song song) {
+    public List<Song> createSongs(List<Song> songs) {
+        Set<Long> artistIds = songs.stream()
+                .map(song -> song.getArtist() == null ? null : song.getArtist().getId())
+                .collect(Collectors.toSet());
+        if (artistIds.contains(null)) {
+            throw new ResourceNotFoundException("Not found artist with id = null");
+        }
 
-        Artist artist = artistRepository.findById(song.getArtist().getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Not found artist with id = " + song.getArtist().getId()));
+        Map<Long, Artist> artists = artistRepository.findAllById(artistIds).stream()
+                .collect(Collectors.toMap(Artist::getId, Function.identity()));
+        artistIds.stream()
+                .filter(id -> !artists.containsKey(id))
+                .findFirst()
+                .ifPresent(id -> {
+                    throw new ResourceNotFoundException("Not found artist with id = " + id);
+                });
+
+        for (int i = 0; i < songs.size(); i++) {
+            Song song = songs.get(i);
+            song.setId(null);
+            song.setArtist(artists.get(song.getArtist().getId()));
+            entityManager.persist(song);
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        eventPublisher.publishEvent(SongChangedEvent.of(songs));
+        return songs;
+    }
+
+    /**
+     * the song is read with its artist in one select and updated by dirty checking at the commit
+     * (only the changed columns, see @DynamicUpdate), instead of a merge of the request body.
+     * The artist is taken as a reference : the artist of the song is already in the persistence context.
+     */
+    @Override
+    public Song updateSong(Song song) {
 
         Song searchedSong = songRepository.findById(song.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Not found song with id = " + song.getId()));
 
+        SongChangedEvent event = new SongChangedEvent().add(searchedSong);
+
         searchedSong.setTitle(song.getTitle());
         searchedSong.setDescription(song.getDescription());
         searchedSong.setCategory(song.getCategory());
         searchedSong.setDuration(song.getDuration());
-        searchedSong.setArtist(artist);
+        searchedSong.setArtist(artistReference(song.getArtist().getId()));
 
-        return songRepository.saveAndFlush(song);
+        eventPublisher.publishEvent(event.add(searchedSong));
+        return searchedSong;
     }
 
+    /**
+     * the name of another artist is needed by the change event : the reference is initialized here
+     * (second-level cache first), so a missing artist is a 404 and not a foreign key error at the commit
+     */
+    private Artist artistReference(Long artistId) {
+        Artist artist = artistRepository.getById(artistId);
+        try {
+            Hibernate.initialize(artist);
+        } catch (EntityNotFoundException e) {
+            throw new ResourceNotFoundException("Not found artist with id = " + artistId);
+        }
+        return artist;
+    }
+
+    /**
+     * the song is read with its artist (one select, or the second-level cache) and removed through the
+     * persistence context : only its own cache entries are evicted, where a bulk delete statement would evict
+     * the whole song and artist_songs regions. The search index and Envers follow the removal.
+     */
     @Override
     public void deleteSongById(Long id) {
-        songRepository.findById(id)
+        Song song = songRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Not found song with id = " + id));
+        SongChangedEvent event = new SongChangedEvent().add(song);
+
+        songRepository.delete(song);
+        eventPublisher.publishEvent(event);
+    }
 
-        songRepository.deleteById(id);
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ContentVersion> getSongVersion(Long id) {
+        ContentVersionView version = songRepository.findSongVersionById(id);
+        return version.getCount() == 0 ? Optional.empty() : Optional.of(ContentVersion.of(version));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ContentVersion> getSongsVersion(Long after, int limit) {
+        return Optional.of(ContentVersion.ofRows(
+                songRepository.findSongRowVersionsAfter(after == null ? 0L : after, PageRequest.of(0, limit))));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ContentVersion> getSongsByCategoryVersion(String category) {
+        SongCategory searchedCategory = EnumUtils.getEnumIgnoreCase(SongCategory.class, category);
+        if (searchedCategory == null) {
+            return Optional.empty();
+        }
+        return Optional.of(ContentVersion.ofList(songRepository.findSongsVersionByCategory(searchedCategory)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ContentVersion> getSongsByArtistNameVersion(String name) {
+        return Optional.of(ContentVersion.ofList(songRepository.findSongsVersionByArtistName(name)));
     }
 }
@@ -0,0 +1,41 @@
+package com.rest.playlist.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Write-behind of song creates (playlist.write-behind.*), see SongWriteBehindServiceImpl.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "playlist.write-behind")
+public class SongWriteBehindProperties {
+
+    /**
+     * POST /api/songs answers 202 and the song is inserted later, instead of 201 once committed
+     */
+    private boolean enabled = false;
+
+    /**
+     * songs waiting to be written, a create is answered 429 when the queue is full
+     */
+    private int capacity = 10000;
+
+    /**
+     * songs inserted in one transaction
+     */
+    private int batchSize = 500;
+
+    /**
+     * longest wait of the writer to fill a batch once a song is queued
+     */
+    private Duration maxDelay = Duration.ofMillis(50);
+
+    /**
+     * longest wait on shutdown for the queued songs to be written
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(30);
+}
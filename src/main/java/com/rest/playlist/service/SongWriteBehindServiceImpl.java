@@ -0,0 +1,298 @@
+package com.rest.playlist.service;
+
+import com.rest.playlist.event.SongChangedEvent;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.PooledSequenceGenerator;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.web.exception.ResourceNotFoundException;
+import com.rest.playlist.web.exception.TooManyRequestsException;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind of song creates (playlist.write-behind.enabled=true).
+ * A create is validated at once (constraints, existing artist) and gets its id from song_seq,
+ * then it waits in a bounded queue : the request is answered 202 without waiting for the insert,
+ * and 429 when the queue is full.
+ * One writer thread drains the queue by batches, each batch in its own transaction with JDBC batching.
+ * A failing batch is replayed row by row, so one bad row (artist deleted meanwhile) never loses the others.
+ * The queue is written before the application stops : the writer stops after the web server.
+ * The caller gets a copy of the queued song, the writer saves and changes the queued one meanwhile.
+ */
+@Service
+@EnableConfigurationProperties(SongWriteBehindProperties.class)
+public class SongWriteBehindServiceImpl implements ISongWriteBehindService, SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(SongWriteBehindServiceImpl.class);
+
+    /**
+     * the web server is stopped in the phases Integer.MAX_VALUE and Integer.MAX_VALUE - 1
+     */
+    private static final int PHASE = Integer.MAX_VALUE - 2;
+    private static final long POLL_MILLIS = 500;
+
+    private final SongWriteBehindProperties properties;
+    private final ArtistRepository artistRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Song> queue;
+
+    /**
+     * queued songs and songs being written
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * the submits hold the read lock from the check of running to the enqueue, stop() sets running under the write lock :
+     * once the writer sees running false, no song can be added to the queue anymore
+     */
+    private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private Thread writer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize = 50;
+
+    public SongWriteBehindServiceImpl(SongWriteBehindProperties properties,
+                                      ArtistRepository artistRepository,
+                                      ApplicationEventPublisher eventPublisher,
+                                      PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.artistRepository = artistRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * the id is taken from the same pooled-lo generator as the JPA inserts,
+     * it is kept when the writer inserts the song
+     */
+    @Override
+    @Transactional
+    public Song submit(Song song) {
+        if (!running) {
+            rejected.incrementAndGet();
+            throw new TooManyRequestsException("Song writes are not accepted, the write-behind queue is stopped");
+        }
+        Long artistId = song.getArtist() == null ? null : song.getArtist().getId();
+        Artist artist = artistRepository.findById(artistId == null ? -1L : artistId)
+                .orElseThrow(() -> new ResourceNotFoundException("Not found artist with id = " + artistId));
+        song.setArtist(artist);
+
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        song.setId((Long) session.getEntityPersister(null, song).getIdentifierGenerator().generate(session, song));
+
+        Song response = song.copy();
+        enqueue(song);
+        return response;
+    }
+
+    private void enqueue(Song song) {
+        runningLock.readLock().lock();
+        try {
+            if (!running) {
+                rejected.incrementAndGet();
+                throw new TooManyRequestsException("Song writes are not accepted, the write-behind queue is stopped");
+            }
+            pending.incrementAndGet();
+            if (!queue.offer(song)) {
+                pending.decrementAndGet();
+                rejected.incrementAndGet();
+                throw new TooManyRequestsException("Too many pending song writes, the write-behind queue holds "
+                        + properties.getCapacity() + " songs");
+            }
+            accepted.incrementAndGet();
+        } finally {
+            runningLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public SongWriteBehindStatus getStatus() {
+        return SongWriteBehindStatus.builder()
+                .enabled(isEnabled())
+                .capacity(properties.getCapacity())
+                .pending(pending.get())
+                .accepted(accepted.get())
+                .written(written.get())
+                .failed(failed.get())
+                .rejected(rejected.get())
+                .build();
+    }
+
+    @Override
+    public boolean awaitWritten(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "song-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * new creates are refused, the writer exits once the queue is empty
+     */
+    @Override
+    public void stop() {
+        runningLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            runningLock.writeLock().unlock();
+        }
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.error("{} songs were not written before the shutdown timeout", pending.get());
+            writer.interrupt();
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void drain() {
+        List<Song> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                Song first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                pending.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * waits at most max-delay for the batch to be full, the queue is already full under load
+     */
+    private void fill(List<Song> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getMaxDelay().toNanos();
+        while (batch.size() < properties.getBatchSize()) {
+            queue.drainTo(batch, properties.getBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.getBatchSize() || remaining <= 0) {
+                return;
+            }
+            Song next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<Song> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Write-behind batch of {} songs failed, replaying it row by row", batch.size(), e);
+            batch.forEach(this::writeOne);
+        }
+    }
+
+    private void writeOne(Song song) {
+        List<Song> one = new ArrayList<>(1);
+        one.add(song);
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(one));
+            written.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            log.error("Write-behind of song {} failed, the song is lost", song.getId(), e);
+        }
+    }
+
+    /**
+     * save() keeps the assigned id (see PooledSequenceGenerator.KEEP_ASSIGNED_IDS), persist() would refuse it
+     */
+    private void insert(List<Song> songs) {
+        Session session = entityManager.unwrap(Session.class);
+        session.setProperty(PooledSequenceGenerator.KEEP_ASSIGNED_IDS, true);
+        for (int i = 0; i < songs.size(); i++) {
+            session.save(songs.get(i));
+            if ((i + 1) % jdbcBatchSize == 0) {
+                session.flush();
+                session.clear();
+            }
+        }
+        session.flush();
+        eventPublisher.publishEvent(SongChangedEvent.of(songs));
+    }
+}
@@ -0,0 +1,34 @@
+package com.rest.playlist.service;
+
+import lombok.Builder;
+import lombok.Getter;
+
+
+/**
+ * state of the write-behind of song creates, counters are since the start of the application
+ * response eg :
+ * {"enabled": true, "capacity": 10000, "pending": 12, "accepted": 5012, "written": 5000, "failed": 0, "rejected": 3}
+ */
+
+@Getter
+public class SongWriteBehindStatus {
+
+    private boolean enabled;
+    private int capacity;
+    private int pending;
+    private long accepted;
+    private long written;
+    private long failed;
+    private long rejected;
+
+    @Builder
+    private SongWriteBehindStatus(boolean enabled, int capacity, int pending, long accepted, long written, long failed, long rejected) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.pending = pending;
+        this.accepted = accepted;
+        this.written = written;
+        this.failed = failed;
+        this.rejected = rejected;
+    }
+}
@@ -0,0 +1,24 @@
+package com.rest.playlist.web.cache;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * a ready-to-write response of ResponseBodyCache : UTF-8 JSON bytes and the headers to replay
+ */
+@Getter
+class CachedResponse {
+
+    private final String tag;
+    private final byte[] body;
+    private final String contentType;
+    private final Map<String, String> headers;
+
+    CachedResponse(String tag, byte[] body, String contentType, Map<String, String> headers) {
+        this.tag = tag;
+        this.body = body;
+        this.contentType = contentType;
+        this.headers = headers;
+    }
+}
@@ -0,0 +1,106 @@
+package com.rest.playlist.web.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rest.playlist.event.ArtistChangedEvent;
+import com.rest.playlist.event.SongChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * ResponseBodyCache keeps the serialized JSON bytes of the hot list endpoints,
+ * keyed by request path and query string. Each entry is tagged with the data it shows
+ * (songs pages, a category, an artist name, artists pages) and is evicted by tag
+ * after the service writes are committed.
+ * The total size is bounded by playlist.response-cache.max-bytes, the entries expire after
+ * playlist.response-cache.expire-after-write (as the song result caches) : the writes that publish no event
+ * (another application on the same tables, a replica catching up) are seen at the latest then.
+ */
+@Component
+@ConditionalOnProperty(name = "playlist.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseBodyCache {
+
+    static final String SONGS = "songs";
+    static final String ARTISTS = "artists";
+    static final String CATEGORY = "category:";
+    static final String ARTIST_NAME = "artist:";
+
+    private static final int EVICTION_LOG_SIZE = 1024;
+
+    private final Cache<String, CachedResponse> cache;
+    private final Deque<Predicate<String>> evictions = new ArrayDeque<>();
+    private long generation;
+
+    public ResponseBodyCache(@Value("${playlist.response-cache.max-bytes:67108864}") long maxBytes,
+                             @Value("${playlist.response-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> response.getBody().length)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * the response is stored only if its tag was not evicted since generation was read,
+     * so a response built from data older than the last eviction of its tag is never cached.
+     * The last evictions are kept for this check, a read older than them is not stored.
+     */
+    synchronized void put(String key, CachedResponse response, long readGeneration) {
+        long missed = generation - readGeneration;
+        if (missed > evictions.size()) {
+            return;
+        }
+        Iterator<Predicate<String>> newest = evictions.descendingIterator();
+        for (long i = 0; i < missed; i++) {
+            if (newest.next().test(response.getTag())) {
+                return;
+            }
+        }
+        cache.put(key, response);
+    }
+
+    synchronized void evict(Predicate<String> tagMatcher) {
+        generation++;
+        evictions.addLast(tagMatcher);
+        if (evictions.size() > EVICTION_LOG_SIZE) {
+            evictions.removeFirst();
+        }
+        cache.asMap().values().removeIf(response -> tagMatcher.test(response.getTag()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSongChanged(SongChangedEvent event) {
+        Set<String> tags = new HashSet<>();
+        tags.add(SONGS);
+        event.getCategories().forEach(category -> tags.add(CATEGORY + category.name()));
+        event.getArtistNames().forEach(name -> tags.add(ARTIST_NAME + name));
+        evict(tags::contains);
+    }
+
+    /**
+     * songs embed their artist : every songs list may show the changed artist
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArtistChanged(ArtistChangedEvent event) {
+        evict(tag -> !tag.startsWith(ARTIST_NAME)
+                || event.getArtistNames().contains(tag.substring(ARTIST_NAME.length())));
+    }
+}
@@ -0,0 +1,111 @@
+package com.rest.playlist.web.cache;
+
+import com.rest.playlist.datasource.ReplicaRoutingDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ResponseBodyCacheFilter serves the list endpoints of SongResource and ArtistResource
+ * from ResponseBodyCache : on a hit the stored bytes are written as they are,
+ * without calling the service nor Jackson. On a miss the response is recorded,
+ * unless it was read from a replica.
+ * A conditional GET matching the cached ETag is answered with a 304.
+ * The X-Cache header tells whether the response is a HIT or a MISS.
+ */
+@Component
+@ConditionalOnProperty(name = "playlist.response-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseBodyCacheFilter extends OncePerRequestFilter {
+
+    static final String CACHE_HEADER = "X-Cache";
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    private final ResponseBodyCache responseBodyCache;
+
+    public ResponseBodyCacheFilter(ResponseBodyCache responseBodyCache) {
+        this.responseBodyCache = responseBodyCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) || tagOf(PATH_HELPER.getPathWithinApplication(request)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = PATH_HELPER.getPathWithinApplication(request);
+        String key = request.getQueryString() == null ? path : path + "?" + request.getQueryString();
+
+        CachedResponse cached = responseBodyCache.get(key);
+        if (cached != null) {
+            String etag = cached.getHeaders().get(HttpHeaders.ETAG);
+            if (etag != null && new ServletWebRequest(request, response).checkNotModified(etag)) {
+                response.setHeader(CACHE_HEADER, "HIT");
+                return;
+            }
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(cached.getContentType());
+            cached.getHeaders().forEach(response::setHeader);
+            response.setHeader(CACHE_HEADER, "HIT");
+            response.setContentLength(cached.getBody().length);
+            response.getOutputStream().write(cached.getBody());
+            return;
+        }
+
+        long generation = responseBodyCache.generation();
+        long replicaReads = ReplicaRoutingDataSource.replicaReads();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        wrapper.setHeader(CACHE_HEADER, "MISS");
+        chain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() == HttpStatus.OK.value() && ReplicaRoutingDataSource.replicaReads() == replicaReads) {
+            Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (String name : wrapper.getHeaderNames()) {
+                if (!CACHE_HEADER.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)
+                        && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                    headers.put(name, wrapper.getHeader(name));
+                }
+            }
+            responseBodyCache.put(key, new CachedResponse(tagOf(path), wrapper.getContentAsByteArray(),
+                    wrapper.getContentType(), headers), generation);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    static String tagOf(String path) {
+        if (PATH_MATCHER.match("/api/songs", path)) {
+            return ResponseBodyCache.SONGS;
+        }
+        if (PATH_MATCHER.match("/api/artists", path)) {
+            return ResponseBodyCache.ARTISTS;
+        }
+        if (PATH_MATCHER.match("/api/songs/category/{category}", path)) {
+            String category = PATH_MATCHER.extractUriTemplateVariables("/api/songs/category/{category}", path).get("category");
+            return ResponseBodyCache.CATEGORY + category.toUpperCase(Locale.ROOT);
+        }
+        if (PATH_MATCHER.match("/api/songs/artist/{name}", path)) {
+            String name = PATH_MATCHER.extractUriTemplateVariables("/api/songs/artist/{name}", path).get("name");
+            return ResponseBodyCache.ARTIST_NAME + name;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.rest.playlist.web.exception;
+
+
+/**
+ * BadRequestException class extends RuntimeException.
+ * It's about a custom exception :
+ * throwing an exception for a malformed request parameter (cursor, limit, ...)
+ * BadRequestException is thrown with Http 400
+ */
+
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
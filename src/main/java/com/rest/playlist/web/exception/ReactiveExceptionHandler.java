@@ -0,0 +1,93 @@
+package com.rest.playlist.web.exception;
+
+import com.rest.playlist.reactive.ReactivePlaylistApplication;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import javax.validation.ConstraintViolationException;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * ReactiveExceptionHandler is the ServiceExceptionHandler of the reactive application :
+ * the same ErrorMessage is returned, WebExchangeBindException replaces MethodArgumentNotValidException.
+ */
+@RestControllerAdvice
+@Profile(ReactivePlaylistApplication.PROFILE)
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorMessage> handleResourceNotFoundException(ResourceNotFoundException e, ServerWebExchange exchange) {
+        return error(HttpStatus.NOT_FOUND, e.getMessage(), exchange, null);
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorMessage> handleBadRequestException(BadRequestException e, ServerWebExchange exchange) {
+        return error(HttpStatus.BAD_REQUEST, e.getMessage(), exchange, null);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorMessage> handleWebExchangeBindException(WebExchangeBindException e, ServerWebExchange exchange) {
+        List<FieldError> fieldErrors = e.getFieldErrors().stream()
+                .map(f -> FieldError
+                        .builder()
+                        .objectName(f.getObjectName())
+                        .field(f.getField())
+                        .message(f.getCode() + ": " + f.getDefaultMessage())
+                        .build())
+                .collect(Collectors.toList());
+
+        return error(HttpStatus.BAD_REQUEST, e.getMessage(), exchange, fieldErrors);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorMessage> handleConstraintViolationException(ConstraintViolationException e, ServerWebExchange exchange) {
+        List<FieldError> fieldErrors = e.getConstraintViolations().stream()
+                .map(v -> FieldError
+                        .builder()
+                        .objectName(StringUtils.uncapitalize(v.getLeafBean().getClass().getSimpleName()))
+                        .field(v.getPropertyPath().toString())
+                        .message(v.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName() + ": " + v.getMessage())
+                        .build())
+                .sorted(Comparator.comparing(FieldError::getField))
+                .collect(Collectors.toList());
+
+        return error(HttpStatus.BAD_REQUEST, e.getMessage(), exchange, fieldErrors);
+    }
+
+    /**
+     * unreadable bodies, unsupported media types... keep their own status
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorMessage> handleResponseStatusException(ResponseStatusException e, ServerWebExchange exchange) {
+        return error(e.getStatus(), e.getReason(), exchange, null);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorMessage> globalException(Exception e, ServerWebExchange exchange) {
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage(), exchange, null);
+    }
+
+    private static ResponseEntity<ErrorMessage> error(HttpStatus status, String text, ServerWebExchange exchange,
+                                                      List<FieldError> fieldErrors) {
+        ErrorMessage message =
+                ErrorMessage.builder()
+                        .statusCode(status.value())
+                        .timeStamp(new Date())
+                        .message(text)
+                        .description("uri=" + exchange.getRequest().getPath().value())
+                        .fieldErrors(fieldErrors)
+                        .build();
+
+        return new ResponseEntity<>(message, status);
+    }
+}
@@ -1,8 +1,10 @@
 package com.rest.playlist.web.exception;
 
 import com.rest.playlist.service.SongServiceImpl;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -10,7 +12,11 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import javax.validation.ConstraintViolationException;
+
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -18,7 +24,9 @@ import java.util.stream.Collectors;
 
 /**
  * ServiceExceptionHandler class handles specific exceptions :
- * ResoureNotFoundException, MethodArgumentNotValidException,
+ * ResoureNotFoundException, BadRequestException, TooManyRequestsException, MethodArgumentNotValidException,
+ * ConstraintViolationException (validation of a list of elements),
+ * MethodArgumentTypeMismatchException (a request parameter or path variable of the wrong type, eg limit=abc),
  * and global Exception in only one place.
  */
 
@@ -41,6 +49,34 @@ public class ServiceExceptionHandler {
         return new ResponseEntity<>(message, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorMessage> handleBadRequestException(BadRequestException e, WebRequest request) {
+        ErrorMessage message =
+                ErrorMessage.builder()
+                        .statusCode(HttpStatus.BAD_REQUEST.value())
+                        .timeStamp(new Date())
+                        .message(e.getMessage())
+                        .description(request.getDescription(false))
+                        .build();
+
+        return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorMessage> handleTooManyRequestsException(TooManyRequestsException e, WebRequest request) {
+        ErrorMessage message =
+                ErrorMessage.builder()
+                        .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                        .timeStamp(new Date())
+                        .message(e.getMessage())
+                        .description(request.getDescription(false))
+                        .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(message);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public final ResponseEntity<ErrorMessage> handleArgumentNotValidException(MethodArgumentNotValidException e, WebRequest request) {
 
@@ -67,6 +103,44 @@ public class ServiceExceptionHandler {
         return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorMessage> handleConstraintViolationException(ConstraintViolationException e, WebRequest request) {
+
+        List<FieldError> fieldErrors = e.getConstraintViolations().stream()
+                .map(v -> FieldError
+                        .builder()
+                        .objectName(StringUtils.uncapitalize(v.getLeafBean().getClass().getSimpleName()))
+                        .field(v.getPropertyPath().toString())
+                        .message(v.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName() + ": " + v.getMessage())
+                        .build())
+                .sorted(Comparator.comparing(FieldError::getField))
+                .collect(Collectors.toList());
+
+        ErrorMessage message =
+                ErrorMessage.builder()
+                        .statusCode(HttpStatus.BAD_REQUEST.value())
+                        .timeStamp(new Date())
+                        .message(e.getMessage())
+                        .description(request.getDescription(false))
+                        .fieldErrors(fieldErrors)
+                        .build();
+
+        return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorMessage> handleArgumentTypeMismatchException(MethodArgumentTypeMismatchException e, WebRequest request) {
+        ErrorMessage message =
+                ErrorMessage.builder()
+                        .statusCode(HttpStatus.BAD_REQUEST.value())
+                        .timeStamp(new Date())
+                        .message("Invalid " + e.getName() + " with value = " + e.getValue())
+                        .description(request.getDescription(false))
+                        .build();
+
+        return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorMessage> globalException(Exception e, WebRequest request) {
         ErrorMessage message =
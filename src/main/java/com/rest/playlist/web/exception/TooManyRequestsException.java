@@ -0,0 +1,16 @@
+package com.rest.playlist.web.exception;
+
+
+/**
+ * TooManyRequestsException class extends RuntimeException.
+ * It's about a custom exception :
+ * throwing an exception when a bounded queue cannot take more work (write-behind creates)
+ * TooManyRequestsException is thrown with Http 429
+ */
+
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
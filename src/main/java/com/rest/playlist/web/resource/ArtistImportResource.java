@@ -0,0 +1,34 @@
+package com.rest.playlist.web.resource;
+
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.service.ArtistImportResult;
+import com.rest.playlist.service.IArtistImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * ArtistImportResource imports an array of artists in one call.
+ * Invalid artists do not fail the request : the response gives one result per index.
+ */
+@RestController
+@RequestMapping("/api/artists/import")
+public class ArtistImportResource {
+
+    private final IArtistImportService IArtistImportService;
+
+    public ArtistImportResource(IArtistImportService IArtistImportService) {
+        this.IArtistImportService = IArtistImportService;
+    }
+
+    @PostMapping
+    public ResponseEntity<List<ArtistImportResult>> importArtists(@RequestBody List<Artist> artists) {
+        List<ArtistImportResult> results = IArtistImportService.importArtists(artists);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+}
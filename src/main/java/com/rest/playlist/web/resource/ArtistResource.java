@@ -1,6 +1,8 @@
 package com.rest.playlist.web.resource;
 
+import com.rest.playlist.datasource.ReplicaLag;
 import com.rest.playlist.model.Artist;
+import com.rest.playlist.service.ContentVersion;
 import com.rest.playlist.service.IArtistService;
 import com.rest.playlist.service.ArtistServiceImpl;
 import org.slf4j.Logger;
@@ -8,6 +10,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.util.List;
@@ -24,16 +27,29 @@ public class ArtistResource {
     }
 
     @GetMapping
-    public ResponseEntity<List<Artist>> getAllArtists() {
-        List<Artist> artists = IArtistService.getAllArtists();
-        return new ResponseEntity<>(artists, HttpStatus.OK);
+    public ResponseEntity<List<Artist>> getAllArtists(@RequestParam(required = false) String after,
+                                                      @RequestParam(defaultValue = KeysetCursor.DEFAULT_LIMIT) int limit,
+                                                      WebRequest request) {
+        KeysetCursor.checkLimit(limit);
+        Long afterId = KeysetCursor.decode(after);
+        ResponseEntity<List<Artist>> notModified = ConditionalGet.notModified(request, () -> IArtistService.getArtistsVersion(afterId, limit + 1));
+        if (notModified != null) {
+            return notModified;
+        }
+        List<Artist> artists = IArtistService.getArtistsAfter(afterId, limit + 1);
+        return KeysetCursor.page(artists, limit, Artist::getId, ContentVersion.ofArtistPage(artists));
     }
 
 
     @GetMapping("/{id}")
-    public ResponseEntity<Artist> getArtistById(@PathVariable Long id) {
+    @ReplicaLag(maxMillis = 1000)
+    public ResponseEntity<Artist> getArtistById(@PathVariable Long id, WebRequest request) {
+        ResponseEntity<Artist> notModified = ConditionalGet.notModified(request, () -> IArtistService.getArtistVersion(id));
+        if (notModified != null) {
+            return notModified;
+        }
         Artist artist = IArtistService.getArtistById(id);
-        return new ResponseEntity<>(artist, HttpStatus.OK);
+        return ConditionalGet.ok(artist, ContentVersion.ofArtist(artist));
     }
 
     @PostMapping
@@ -0,0 +1,81 @@
+package com.rest.playlist.web.resource;
+
+import com.rest.playlist.service.ContentVersion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * ConditionalGet answers If-None-Match / If-Modified-Since with a 304 :
+ * the version is read by an aggregate query only for conditional requests,
+ * the 200 responses get their ETag and Last-Modified from the loaded entities.
+ * Lists and pages have no Last-Modified : If-Modified-Since alone is answered 200 for them.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * @return the 304 response, or null when the client copy is missing or outdated
+     */
+    static <T> ResponseEntity<T> notModified(WebRequest request, Supplier<Optional<ContentVersion>> version) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        String ifModifiedSince = request.getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifNoneMatch == null && ifModifiedSince == null) {
+            return null;
+        }
+
+        ContentVersion currentVersion = version.get().orElse(null);
+        if (currentVersion == null) {
+            return null;
+        }
+
+        // If-None-Match takes precedence, Last-Modified is compared at the second like the HTTP date
+        boolean notModified = ifNoneMatch != null
+                ? etagMatches(ifNoneMatch, currentVersion.getEtag())
+                : currentVersion.getLastModified() > 0
+                        && currentVersion.getLastModified() / 1000 <= ifModifiedSince(ifModifiedSince) / 1000;
+        if (!notModified) {
+            return null;
+        }
+        return new ResponseEntity<>(headers(currentVersion), HttpStatus.NOT_MODIFIED);
+    }
+
+    static HttpHeaders headers(ContentVersion version) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(version.getEtag());
+        if (version.getLastModified() > 0) {
+            headers.setLastModified(version.getLastModified());
+        }
+        return headers;
+    }
+
+    static <T> ResponseEntity<T> ok(T body, ContentVersion version) {
+        return new ResponseEntity<>(body, headers(version), HttpStatus.OK);
+    }
+
+    private static long ifModifiedSince(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.IF_MODIFIED_SINCE, value);
+        try {
+            return headers.getIfModifiedSince();
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+package com.rest.playlist.web.resource;
+
+import com.rest.playlist.service.ContentVersion;
+import com.rest.playlist.web.exception.BadRequestException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * KeysetCursor builds and reads the opaque cursor used by the list endpoints
+ * (GET /api/songs?after=...&limit=N).
+ * The cursor wraps the id of the last row of the page, so the next page is
+ * fetched with "id > :after order by id" whatever the depth, instead of an OFFSET.
+ * The cursor of the next page is sent in the X-Next-Cursor header,
+ * it is absent on the last page.
+ */
+final class KeysetCursor {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String DEFAULT_LIMIT = "100";
+    static final int MAX_LIMIT = 1000;
+
+    private KeysetCursor() {
+    }
+
+    static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor with value = " + cursor);
+        }
+    }
+
+    static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Invalid limit with value = " + limit + ", must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    /**
+     * rows were fetched with limit + 1 : the extra row only tells that a next page exists,
+     * the version is computed on the same rows
+     */
+    static <T> ResponseEntity<List<T>> page(List<T> rows, int limit, Function<T, Long> idOf, ContentVersion version) {
+        HttpHeaders headers = ConditionalGet.headers(version);
+        if (rows.size() > limit) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+            headers.add(NEXT_CURSOR_HEADER, encode(idOf.apply(rows.get(limit - 1))));
+        }
+        return new ResponseEntity<>(rows, headers, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,42 @@
+package com.rest.playlist.web.resource;
+
+import com.rest.playlist.search.NameSearchHit;
+import com.rest.playlist.service.INameSearchService;
+import com.rest.playlist.web.exception.BadRequestException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * NameSearchResource searches artist names and song titles, ignoring case and accents :
+ * GET /api/search/names?q=beatl[&type=ARTIST|SONG][&limit=10]
+ * names starting with q (or with a word starting with q) come first, then the names similar to q (typos).
+ */
+@RestController
+@RequestMapping("/api/search")
+public class NameSearchResource {
+
+    static final int MAX_LIMIT = 100;
+
+    private final INameSearchService INameSearchService;
+
+    public NameSearchResource(INameSearchService INameSearchService) {
+        this.INameSearchService = INameSearchService;
+    }
+
+    @GetMapping("/names")
+    public ResponseEntity<List<NameSearchHit>> searchNames(@RequestParam String q,
+                                                           @RequestParam(required = false) String type,
+                                                           @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("Invalid limit with value = " + limit + ", must be between 1 and " + MAX_LIMIT);
+        }
+        List<NameSearchHit> hits = INameSearchService.searchNames(q, type, limit);
+        return new ResponseEntity<>(hits, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,43 @@
+package com.rest.playlist.web.resource;
+
+import com.rest.playlist.service.ISongBulkService;
+import com.rest.playlist.service.SongBulkResult;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * SongBulkResource changes every song matching a filter in one call :
+ * DELETE /api/songs/bulk?artistId=1&category=POP deletes the songs of an artist and / or of a category,
+ * PUT /api/songs/bulk/category/POP?to=JAZZ[&artistId=1] moves songs from a category to another.
+ */
+@RestController
+@RequestMapping("/api/songs/bulk")
+public class SongBulkResource {
+
+    private final ISongBulkService ISongBulkService;
+
+    public SongBulkResource(ISongBulkService ISongBulkService) {
+        this.ISongBulkService = ISongBulkService;
+    }
+
+    @DeleteMapping
+    public ResponseEntity<SongBulkResult> deleteSongs(@RequestParam(required = false) Long artistId,
+                                                      @RequestParam(required = false) String category) {
+        SongBulkResult result = ISongBulkService.deleteSongs(artistId, category);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @PutMapping("/category/{category}")
+    public ResponseEntity<SongBulkResult> updateSongsCategory(@PathVariable String category,
+                                                              @RequestParam String to,
+                                                              @RequestParam(required = false) Long artistId) {
+        SongBulkResult result = ISongBulkService.updateSongsCategory(category, to, artistId);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,60 @@
+package com.rest.playlist.web.resource;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rest.playlist.service.ISongService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * SongExportResource streams the whole song catalogue as NDJSON (one song per line).
+ * Songs are written as they are read from the database,
+ * so the heap use does not depend on the size of the table.
+ */
+@RestController
+@RequestMapping("/api/songs/export")
+public class SongExportResource {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final ISongService ISongService;
+    private final ObjectWriter objectWriter;
+
+    public SongExportResource(ISongService ISongService, ObjectMapper objectMapper) {
+        this.ISongService = ISongService;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSongs() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectWriter.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+                ISongService.exportSongs(song -> {
+                    try {
+                        objectWriter.writeValue(generator, song);
+                        generator.writeRaw('\n');
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -1,61 +1,128 @@
 package com.rest.playlist.web.resource;
 
+import com.rest.playlist.datasource.ReplicaLag;
 import com.rest.playlist.model.Song;
+import com.rest.playlist.service.ContentVersion;
 import com.rest.playlist.service.ISongService;
+import com.rest.playlist.service.ISongWriteBehindService;
 import com.rest.playlist.service.SongServiceImpl;
+import com.rest.playlist.service.SongWriteBehindStatus;
+import com.rest.playlist.web.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
 import java.util.List;
 
 @RestController
+@Validated
 @RequestMapping("/api/songs")
 public class SongResource {
 
     final private ISongService ISongService;
+    final private ISongWriteBehindService songWriteBehindService;
     private static final Logger log = LoggerFactory.getLogger(SongServiceImpl.class);
 
     public SongResource(ISongService ISongService) {
+        this(ISongService, null);
+    }
+
+    /**
+     * the write-behind service is absent from the web slice tests
+     */
+    @Autowired
+    public SongResource(ISongService ISongService, @Nullable ISongWriteBehindService songWriteBehindService) {
         this.ISongService = ISongService;
+        this.songWriteBehindService = songWriteBehindService;
     }
 
     @GetMapping
-    public ResponseEntity<List<Song>> getAllSongs() {
-        List<Song> songs = ISongService.getAllSongs();
-        return new ResponseEntity<>(songs, HttpStatus.OK);
+    public ResponseEntity<List<Song>> getAllSongs(@RequestParam(required = false) String after,
+                                                  @RequestParam(defaultValue = KeysetCursor.DEFAULT_LIMIT) int limit,
+                                                  WebRequest request) {
+        KeysetCursor.checkLimit(limit);
+        Long afterId = KeysetCursor.decode(after);
+        ResponseEntity<List<Song>> notModified = ConditionalGet.notModified(request, () -> ISongService.getSongsVersion(afterId, limit + 1));
+        if (notModified != null) {
+            return notModified;
+        }
+        List<Song> songs = ISongService.getSongsAfter(afterId, limit + 1);
+        return KeysetCursor.page(songs, limit, Song::getId, ContentVersion.ofSongPage(songs));
     }
 
 
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Song>> getSongsByCategory(@PathVariable String category) {
+    public ResponseEntity<List<Song>> getSongsByCategory(@PathVariable String category, WebRequest request) {
+        ResponseEntity<List<Song>> notModified = ConditionalGet.notModified(request, () -> ISongService.getSongsByCategoryVersion(category));
+        if (notModified != null) {
+            return notModified;
+        }
         List<Song> songs = ISongService.getSongsByCategory(category);
-        return new ResponseEntity<>(songs, HttpStatus.OK);
+        return ConditionalGet.ok(songs, ContentVersion.ofSongs(songs));
     }
 
 
     @GetMapping("/artist/{name}")
-    public ResponseEntity<List<Song>> getSongsByArtistName(@PathVariable String name) {
+    public ResponseEntity<List<Song>> getSongsByArtistName(@PathVariable String name, WebRequest request) {
+        ResponseEntity<List<Song>> notModified = ConditionalGet.notModified(request, () -> ISongService.getSongsByArtistNameVersion(name));
+        if (notModified != null) {
+            return notModified;
+        }
         List<Song> songs = ISongService.getSongsByArtistName(name);
-        return new ResponseEntity<>(songs, HttpStatus.OK);
+        return ConditionalGet.ok(songs, ContentVersion.ofSongs(songs));
     }
 
 
+    /**
+     * a resource is often read right after its creation : the replicas must be less than a second behind
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<Song> getSongById(@PathVariable Long id) {
+    @ReplicaLag(maxMillis = 1000)
+    public ResponseEntity<Song> getSongById(@PathVariable Long id, WebRequest request) {
+        ResponseEntity<Song> notModified = ConditionalGet.notModified(request, () -> ISongService.getSongVersion(id));
+        if (notModified != null) {
+            return notModified;
+        }
         Song song = ISongService.getSongById(id);
-        return new ResponseEntity<>(song, HttpStatus.OK);
+        return ConditionalGet.ok(song, ContentVersion.ofSong(song));
     }
 
+    /**
+     * with the write-behind enabled, the song is answered 202 with its id before it is inserted
+     */
     @PostMapping
     public ResponseEntity<Song> createSong(@Valid @RequestBody Song song) {
+        if (songWriteBehindService != null && songWriteBehindService.isEnabled()) {
+            return new ResponseEntity<>(songWriteBehindService.submit(song), HttpStatus.ACCEPTED);
+        }
         Song addedSong = ISongService.createSong(song);
         return new ResponseEntity<>(addedSong, HttpStatus.CREATED);
     }
 
+    @GetMapping("/pending")
+    public ResponseEntity<SongWriteBehindStatus> getPendingWrites() {
+        if (songWriteBehindService == null) {
+            throw new ResourceNotFoundException("Not found write-behind of songs");
+        }
+        return new ResponseEntity<>(songWriteBehindService.getStatus(), HttpStatus.OK);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<Song>> createSongs(@RequestBody @NotEmpty(message = "songs ne doit pas être vide")
+                                                  List<@NotNull(message = "song ne doit pas être null") @Valid Song> songs) {
+        List<Song> addedSongs = ISongService.createSongs(songs);
+        return new ResponseEntity<>(addedSongs, HttpStatus.CREATED);
+    }
+
     @PutMapping
     public ResponseEntity updateSong(@Valid @RequestBody Song song) {
         Song updatedSong = ISongService.updateSong(song);
@@ -0,0 +1,52 @@
+package com.rest.playlist.web.resource;
+
+import com.rest.playlist.search.SongReindexResult;
+import com.rest.playlist.search.SongSearchResult;
+import com.rest.playlist.service.ISongSearchService;
+import com.rest.playlist.web.exception.BadRequestException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * SongSearchResource searches the words of the song titles and descriptions, ignoring case and accents :
+ * GET /api/search/songs?q=let it be[&page=0][&size=20]
+ * every word must match (in the title or the description), "quoted phrases", prefix* and -excluded words are supported.
+ * POST /api/search/songs/reindex rebuilds the index from the songs table.
+ */
+@RestController
+@RequestMapping("/api/search/songs")
+public class SongSearchResource {
+
+    static final int MAX_SIZE = 100;
+
+    private final ISongSearchService ISongSearchService;
+
+    public SongSearchResource(ISongSearchService ISongSearchService) {
+        this.ISongSearchService = ISongSearchService;
+    }
+
+    @GetMapping
+    public ResponseEntity<SongSearchResult> searchSongs(@RequestParam String q,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "20") int size) {
+        if (page < 0) {
+            throw new BadRequestException("Invalid page with value = " + page + ", must not be negative");
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new BadRequestException("Invalid size with value = " + size + ", must be between 1 and " + MAX_SIZE);
+        }
+        SongSearchResult result = ISongSearchService.searchSongs(q, page, size);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @PostMapping("/reindex")
+    public ResponseEntity<SongReindexResult> reindex() {
+        SongReindexResult result = ISongSearchService.reindex();
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+}
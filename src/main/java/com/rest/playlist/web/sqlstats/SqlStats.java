@@ -0,0 +1,67 @@
+package com.rest.playlist.web.sqlstats;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * SqlStats accumulates the JDBC activity of the current HTTP request : statements executed,
+ * rows read from the result sets and time spent in the database.
+ * SELECT statements are counted by SQL text : the same select repeated in one request
+ * (one query per row of a previous result) is the sign of an N+1.
+ * The stats are bound to the request thread by SqlStatsFilter ; outside of a request
+ * nothing is collected.
+ */
+@Getter
+public class SqlStats {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long rows;
+    private long databaseNanos;
+    private int mostRepeatedCount;
+    private String mostRepeatedSelect;
+
+    private final Map<String, Integer> selects = new HashMap<>();
+
+    public static SqlStats begin() {
+        SqlStats stats = new SqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    void statement(String sql, long nanos) {
+        statements++;
+        databaseNanos += nanos;
+        if (sql != null && sql.trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+            int count = selects.merge(sql, 1, Integer::sum);
+            if (count > mostRepeatedCount) {
+                mostRepeatedCount = count;
+                mostRepeatedSelect = sql;
+            }
+        }
+    }
+
+    void row() {
+        rows++;
+    }
+
+    public long getDatabaseMillis() {
+        return databaseNanos / 1_000_000;
+    }
+
+    public boolean isNPlusOneSuspected(int threshold) {
+        return mostRepeatedCount >= threshold;
+    }
+}
@@ -0,0 +1,90 @@
+package com.rest.playlist.web.sqlstats;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.MethodUtils;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogic;
+import net.ttddyy.dsproxy.proxy.jdk.JdkJdbcProxyFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Wraps the DataSource in a datasource-proxy feeding the SqlStats of the current request :
+ * each statement with its SQL and duration, each row read by ResultSet.next().
+ * The result sets are only wrapped during a request with SqlStats, the others are read without proxy.
+ * unwrap() is delegated, so the pool metrics still see the HikariDataSource.
+ * Every connection and statement goes through the proxy : the stats are off unless
+ * playlist.sql-stats.enabled=true (SQL_STATS_ENABLED), use them in development and in the tests.
+ */
+@Component
+@ConditionalOnProperty(name = "playlist.sql-stats.enabled", havingValue = "true")
+public class SqlStatsDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final String START_NANOS = "sqlStats.startNanos";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create(beanName, (DataSource) bean)
+                .listener(new StatementListener())
+                .proxyResultSet((resultSet, connectionInfo, proxyConfig) -> rowCounter(resultSet))
+                .jdbcProxyFactory(new CountedResultSetProxyFactory())
+                .build();
+    }
+
+    private static ResultSetProxyLogic rowCounter(ResultSet resultSet) {
+        SqlStats stats = SqlStats.current();
+        return (method, args) -> {
+            if ("getTarget".equals(method.getName())) {
+                return resultSet;
+            }
+            Object result = MethodUtils.proceedExecution(method, resultSet, args);
+            if (stats != null && Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                stats.row();
+            }
+            return result;
+        };
+    }
+
+    private static class CountedResultSetProxyFactory extends JdkJdbcProxyFactory {
+
+        @Override
+        public ResultSet createResultSet(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+            if (SqlStats.current() == null) {
+                return resultSet;
+            }
+            return super.createResultSet(resultSet, connectionInfo, proxyConfig);
+        }
+    }
+
+    private static class StatementListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (SqlStats.current() != null) {
+                execInfo.addCustomValue(START_NANOS, System.nanoTime());
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlStats stats = SqlStats.current();
+            Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+            if (stats != null && start != null) {
+                stats.statement(queryInfoList.isEmpty() ? null : queryInfoList.get(0).getQuery(), System.nanoTime() - start);
+            }
+        }
+    }
+}
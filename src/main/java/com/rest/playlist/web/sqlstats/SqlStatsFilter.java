@@ -0,0 +1,107 @@
+package com.rest.playlist.web.sqlstats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * SqlStatsFilter collects the SqlStats of each SongResource / ArtistResource call.
+ * A request over the statement or database time threshold, or repeating the same select
+ * (N+1), is logged at WARN with the stats in the MDC (sql.statements, sql.rows, sql.timeMs, sql.nPlusOne).
+ * With playlist.sql-stats.headers=true the stats are also sent in X-Sql-* headers : the body is
+ * then buffered, to count the lazy loads done while serializing, so keep it for development.
+ * The NDJSON export is streamed after the filter returns, it is not measured.
+ */
+@Component
+@ConditionalOnProperty(name = "playlist.sql-stats.enabled", havingValue = "true")
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    static final String ROWS_HEADER = "X-Sql-Rows";
+    static final String TIME_HEADER = "X-Sql-Time-Ms";
+    static final String N_PLUS_ONE_HEADER = "X-Sql-N-Plus-One";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatsFilter.class);
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+    private static final int MAX_SQL_LENGTH = 200;
+
+    private final boolean headers;
+    private final int statementThreshold;
+    private final long timeThresholdMillis;
+    private final int nPlusOneThreshold;
+
+    public SqlStatsFilter(@Value("${playlist.sql-stats.headers:false}") boolean headers,
+                          @Value("${playlist.sql-stats.statement-threshold:20}") int statementThreshold,
+                          @Value("${playlist.sql-stats.time-threshold-ms:200}") long timeThresholdMillis,
+                          @Value("${playlist.sql-stats.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.headers = headers;
+        this.statementThreshold = statementThreshold;
+        this.timeThresholdMillis = timeThresholdMillis;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = PATH_HELPER.getPathWithinApplication(request);
+        return !(path.startsWith("/api/songs") || path.startsWith("/api/artists")) || path.startsWith("/api/songs/export");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStats stats = SqlStats.begin();
+        ContentCachingResponseWrapper wrapper = headers ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            chain.doFilter(request, wrapper == null ? response : wrapper);
+        } finally {
+            SqlStats.end();
+            boolean nPlusOne = stats.isNPlusOneSuspected(nPlusOneThreshold);
+            if (wrapper != null) {
+                wrapper.setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+                wrapper.setHeader(ROWS_HEADER, String.valueOf(stats.getRows()));
+                wrapper.setHeader(TIME_HEADER, String.valueOf(stats.getDatabaseMillis()));
+                if (nPlusOne) {
+                    wrapper.setHeader(N_PLUS_ONE_HEADER, describeNPlusOne(stats));
+                }
+                wrapper.copyBodyToResponse();
+            }
+            if (nPlusOne || stats.getStatements() > statementThreshold || stats.getDatabaseMillis() > timeThresholdMillis) {
+                logStats(request, stats, nPlusOne);
+            }
+        }
+    }
+
+    private void logStats(HttpServletRequest request, SqlStats stats, boolean nPlusOne) {
+        MDC.put("sql.statements", String.valueOf(stats.getStatements()));
+        MDC.put("sql.rows", String.valueOf(stats.getRows()));
+        MDC.put("sql.timeMs", String.valueOf(stats.getDatabaseMillis()));
+        MDC.put("sql.nPlusOne", String.valueOf(nPlusOne));
+        try {
+            log.warn("{} {} : {} statements, {} rows, {} ms in the database{}",
+                    request.getMethod(), request.getRequestURI(), stats.getStatements(), stats.getRows(),
+                    stats.getDatabaseMillis(), nPlusOne ? ", N+1 suspected : " + describeNPlusOne(stats) : "");
+        } finally {
+            MDC.remove("sql.statements");
+            MDC.remove("sql.rows");
+            MDC.remove("sql.timeMs");
+            MDC.remove("sql.nPlusOne");
+        }
+    }
+
+    private static String describeNPlusOne(SqlStats stats) {
+        String sql = stats.getMostRepeatedSelect().replaceAll("\\s+", " ");
+        return stats.getMostRepeatedCount() + " x " + (sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql);
+    }
+}
@@ -0,0 +1,26 @@
+-- Schema of Song and Artist, as generated by Hibernate before the migrations.
+-- An existing database created by ddl-auto=update is baselined at this version (spring.flyway.baseline-on-migrate).
+create sequence artist_seq start with 1 increment by 50;
+create sequence song_seq start with 1 increment by 50;
+
+create table artist (
+    id bigint not null,
+    created_at timestamp not null,
+    updated_at timestamp,
+    name varchar(255),
+    popularity bigint,
+    primary key (id)
+);
+
+create table songs (
+    id bigint not null,
+    created_at timestamp not null,
+    updated_at timestamp,
+    category varchar(255),
+    description varchar(255),
+    duration varchar(255),
+    title varchar(255),
+    artist_id bigint,
+    primary key (id),
+    constraint fk_songs_artist foreign key (artist_id) references artist (id)
+);
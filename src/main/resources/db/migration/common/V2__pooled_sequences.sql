@@ -0,0 +1,5 @@
+-- Migration of a baselined database to the pooled-lo id generator.
+-- The increment must match spring.jpa.properties.playlist.id.allocation_size (50 by default).
+-- The next block starts after the current value, so existing ids are never reused.
+alter sequence artist_seq increment by 50;
+alter sequence song_seq increment by 50;
@@ -0,0 +1,4 @@
+-- Same indexes as db/migration/postgresql/V3__song_lookup_indexes.sql, H2 has no CREATE INDEX CONCURRENTLY.
+create index if not exists idx_songs_category_id on songs (category, id);
+create index if not exists idx_songs_artist_id_id on songs (artist_id, id);
+create index if not exists idx_artist_name on artist (name);
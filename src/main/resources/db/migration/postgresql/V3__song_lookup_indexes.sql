@@ -0,0 +1,9 @@
+-- Indexes of the song lookups, built without blocking the writes on a large table
+-- (Flyway runs a migration made of CREATE INDEX CONCURRENTLY outside of a transaction).
+-- songs (category, id) : GET /api/songs/category/{category}, bulk operations by category in id order
+-- songs (artist_id, id) : songs of an artist in id order (name lookups, deletes of an artist, bulk operations),
+--   it also serves the foreign key
+-- artist (name) : GET /api/songs/artist/{name}
+create index concurrently if not exists idx_songs_category_id on songs (category, id);
+create index concurrently if not exists idx_songs_artist_id_id on songs (artist_id, id);
+create index concurrently if not exists idx_artist_name on artist (name);
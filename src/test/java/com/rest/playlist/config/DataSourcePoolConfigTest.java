@@ -0,0 +1,69 @@
+package com.rest.playlist.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "playlist.datasource.pool.maximum-pool-size=7",
+        "playlist.datasource.pool.connection-timeout=3s",
+        "playlist.datasource.pool.statement-cache.queries=128"})
+@RunWith(SpringRunner.class)
+public class DataSourcePoolConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testPoolPropertiesAreApplied() {
+        HikariDataSource hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+
+        assertThat(hikari.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(hikari.getConnectionTimeout()).isEqualTo(3000);
+        // PostgreSQL driver property, not sent to H2
+        assertThat(hikari.getDataSourceProperties()).doesNotContainKey("preparedStatementCacheQueries");
+    }
+
+    @Test
+    public void testPoolMetricsArePublished() {
+        assertThat(meterRegistry.find("hikaricp.connections.active").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.pending").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").timer()).isNotNull();
+        assertThat(meterRegistry.find("playlist.datasource.pool.saturation").gauge()).isNotNull();
+    }
+
+    @Test
+    public void testStatementCacheIsAppliedToPostgreSql() {
+        DataSourcePoolProperties properties = new DataSourcePoolProperties();
+        properties.setConnectionTimeout(Duration.ofSeconds(2));
+        properties.getStatementCache().setQueries(128);
+        HikariDataSource hikari = new HikariDataSource();
+        hikari.setJdbcUrl("jdbc:postgresql://localhost:5432/playlist_song_artist_db");
+
+        DataSourcePoolConfig.apply(properties, hikari);
+
+        assertThat(hikari.getConnectionTimeout()).isEqualTo(2000);
+        assertThat(hikari.getDataSourceProperties()).containsEntry("preparedStatementCacheQueries", 128);
+    }
+
+    @Test
+    public void testPoolSizingCheck() {
+        assertThat(PoolSizingCheck.check(10, 10, 200, 5000)).isEmpty();
+        assertThat(PoolSizingCheck.check(10, 10, 200, 30000)).hasSize(1);
+        assertThat(PoolSizingCheck.check(50, 60, 20, 5000)).hasSize(2);
+    }
+}
@@ -0,0 +1,39 @@
+package com.rest.playlist.config;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
+
+public class VirtualThreadsConfigTest {
+
+    private static boolean virtualThreadsAvailable() {
+        return Double.parseDouble(System.getProperty("java.specification.version")) >= 21;
+    }
+
+    @Test
+    public void testExecutorRunsVirtualThreads() throws Exception {
+        assumeTrue(virtualThreadsAvailable());
+
+        ExecutorService executor = VirtualThreadsConfig.newVirtualThreadPerTaskExecutor();
+        try {
+            Object virtual = executor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread())).get();
+            assertThat(virtual).isEqualTo(true);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testOlderRuntimeIsRejected() {
+        assumeFalse(virtualThreadsAvailable());
+
+        assertThatThrownBy(VirtualThreadsConfig::newVirtualThreadPerTaskExecutor)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("needs a Java 21 runtime");
+    }
+}
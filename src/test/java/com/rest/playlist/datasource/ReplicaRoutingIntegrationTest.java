@@ -0,0 +1,200 @@
+package com.rest.playlist.datasource;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.service.IArtistService;
+import com.rest.playlist.service.ISongService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * two H2 databases stand for the primary and a replica that never receives the writes :
+ * a read served by the replica does not see the songs created by the test.
+ * The second replica is unreachable and must be skipped.
+ * The caches are on : what a replica returns must not be cached.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1",
+        "playlist.datasource.routing.enabled=true",
+        "playlist.datasource.routing.replicas[0].url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "playlist.datasource.routing.replicas[0].username=playlistadmin",
+        "playlist.datasource.routing.replicas[0].password=admin",
+        "playlist.datasource.routing.replicas[1].url=jdbc:h2:tcp://localhost:1/unreachable",
+        "playlist.datasource.routing.lag-query=select lag_millis from replica_lag",
+        "playlist.datasource.routing.health-check-interval=1h",
+        "playlist.datasource.pool.connection-timeout=1s",
+        "spring.cache.type=caffeine",
+        "playlist.response-cache.enabled=true"})
+@AutoConfigureMockMvc
+@RunWith(SpringRunner.class)
+public class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ISongService songService;
+
+    @Autowired
+    private IArtistService artistService;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private JdbcTemplate replica;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private Artist artist;
+
+    @Before
+    public void setup() throws SQLException {
+        replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "playlistadmin", "admin"));
+        if (replica.queryForObject("select count(*) from information_schema.tables where table_name = 'REPLICA_LAG'", Integer.class) == 0) {
+            // schema of the primary, created by Hibernate
+            jdbcTemplate.queryForList("script nodata", String.class).forEach(replica::execute);
+            replica.execute("create table replica_lag (lag_millis bigint)");
+            replica.update("insert into replica_lag values (0)");
+        }
+        setReplicaLag(0);
+
+        routingDataSource = dataSource.unwrap(ReplicaRoutingDataSource.class);
+        routingDataSource.checkReplicas();
+
+        Artist myArtist = new Artist();
+        myArtist.setName("Routing " + System.nanoTime() % 100000);
+        myArtist.setPopularity(10L);
+        artist = artistRepository.saveAndFlush(myArtist);
+    }
+
+    private void setReplicaLag(long lagMillis) {
+        replica.update("update replica_lag set lag_millis = ?", lagMillis);
+    }
+
+    private Song createSong() {
+        Song song = new Song();
+        song.setTitle("Routed song");
+        song.setDescription("Read replica");
+        song.setCategory(SongCategory.JAZZ);
+        song.setDuration("2:30");
+        song.setArtist(artist);
+        return songService.createSong(song);
+    }
+
+    @Test
+    public void testReadOnlyTransactionsGoToTheHealthyReplica() {
+        createSong();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(songService.getSongsByArtistName(artist.getName())).isEmpty();
+        }
+    }
+
+    @Test
+    public void testLaggingReplicaIsSkipped() {
+        createSong();
+        setReplicaLag(10000);
+        routingDataSource.checkReplicas();
+
+        assertThat(songService.getSongsByArtistName(artist.getName())).hasSize(1);
+    }
+
+    @Test
+    public void testEndpointLagTolerance() throws Exception {
+        Song song = createSong();
+        entityManagerFactory.getCache().evictAll();
+        setReplicaLag(3000);
+        routingDataSource.checkReplicas();
+
+        // default tolerance 5s : the replica serves the list
+        mockMvc.perform(get("/api/songs/artist/{name}", artist.getName()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        // @ReplicaLag(maxMillis = 1000) : read from the primary
+        mockMvc.perform(get("/api/songs/{id}", song.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Routed song"));
+    }
+
+    @Test
+    public void testLagGrowsSinceTheLastCheck() throws Exception {
+        Song song = createSong();
+        entityManagerFactory.getCache().evictAll();
+        Thread.sleep(1100);
+
+        // checked without lag more than 1s ago : too old for @ReplicaLag(maxMillis = 1000)
+        mockMvc.perform(get("/api/songs/{id}", song.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Routed song"));
+    }
+
+    @Test
+    public void testReplicaReadsAreNotCached() throws Exception {
+        createSong();
+
+        assertThat(songService.getSongsByArtistName(artist.getName())).isEmpty();
+        mockMvc.perform(get("/api/songs/artist/{name}", artist.getName()))
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/songs/artist/{name}", artist.getName()))
+                .andExpect(header().string("X-Cache", "MISS"));
+
+        setReplicaLag(10000);
+        routingDataSource.checkReplicas();
+
+        assertThat(songService.getSongsByArtistName(artist.getName())).hasSize(1);
+        mockMvc.perform(get("/api/songs/artist/{name}", artist.getName()))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    public void testReplicaReadsDoNotFillTheSecondLevelCache() {
+        Map<String, Object> row = jdbcTemplate.queryForMap("select * from artist where id = ?", artist.getId());
+        replica.update("insert into artist (" + String.join(", ", row.keySet()) + ") values ("
+                + String.join(", ", Collections.nCopies(row.size(), "?")) + ")", row.values().toArray());
+        replica.update("update artist set name = 'Stale on the replica' where id = ?", artist.getId());
+        entityManagerFactory.getCache().evictAll();
+
+        assertThat(artistService.getArtistById(artist.getId()).getName()).isEqualTo("Stale on the replica");
+        assertThat(entityManagerFactory.getCache().contains(Artist.class, artist.getId())).isFalse();
+
+        setReplicaLag(10000);
+        routingDataSource.checkReplicas();
+
+        assertThat(artistService.getArtistById(artist.getId()).getName()).isEqualTo(artist.getName());
+        assertThat(entityManagerFactory.getCache().contains(Artist.class, artist.getId())).isTrue();
+    }
+}
@@ -0,0 +1,333 @@
+package com.rest.playlist.reactive;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.reactive.repository.ReactiveArtistRepository;
+import com.rest.playlist.reactive.repository.ReactiveSongRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static com.rest.playlist.TestUtils.asJsonString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+
+/**
+ * the scenarios of SongResourceIntegrationTest, run against the reactive application
+ */
+@SpringBootTest(classes = ReactivePlaylistApplication.class, properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles(ReactivePlaylistApplication.PROFILE)
+@AutoConfigureWebTestClient
+@RunWith(SpringRunner.class)
+public class ReactiveSongResourceIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveSongRepository songRepository;
+
+    @Autowired
+    private ReactiveArtistRepository artistRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private Song mySong;
+
+    @Before
+    public void setup() {
+        Artist artist = new Artist();
+        artist.setName("Artist #1");
+        artist.setPopularity(40L);
+
+        mySong = new Song();
+
+        mySong.setTitle("For The Lover That I Lost");
+        mySong.setDescription("Live At Abbey Road Studios");
+        mySong.setCategory(SongCategory.POP);
+        mySong.setDuration("3:01");
+
+        Artist pl = artistRepository.insert(artist).block();
+        mySong.setArtist(pl);
+    }
+
+    @Test
+    public void testGetAllSongs() {
+        Song savedSong = songRepository.insert(mySong).block();
+        webTestClient.get().uri("/api/songs")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.[*].title").value(hasItem(savedSong.getTitle()))
+                .jsonPath("$.[*].description").value(hasItem(savedSong.getDescription()))
+                .jsonPath("$.[*].category").value(hasItem(savedSong.getCategory().toString()))
+                .jsonPath("$.[*].duration").value(hasItem(savedSong.getDuration()))
+                .jsonPath("$.[*].artist.name").value(hasItem(savedSong.getArtist().getName()));
+    }
+
+    @Test
+    public void testGetEmptyListSongs() {
+        databaseClient.sql("delete from songs").fetch().rowsUpdated().block();
+        webTestClient.get().uri("/api/songs")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(0);
+    }
+
+    @Test
+    public void testStreamSongs() {
+        songRepository.insert(mySong).block();
+        songRepository.insert(mySong).block();
+
+        StepVerifier.create(webTestClient.get().uri("/api/songs")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Song.class)
+                .getResponseBody(), 1)
+                .assertNext(song -> assertThat(song.getTitle()).isEqualTo(mySong.getTitle()))
+                .thenRequest(1)
+                .assertNext(song -> assertThat(song.getArtist().getName()).isEqualTo(mySong.getArtist().getName()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    public void testRepositoryReadsOnDemand() {
+        songRepository.insert(mySong).block();
+        songRepository.insert(mySong).block();
+
+        StepVerifier.create(songRepository.findAll(), 1)
+                .expectNextCount(1)
+                .thenRequest(1)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    public void testGetSongsByCategory() {
+        Song savedSong = songRepository.insert(mySong).block();
+        webTestClient.get().uri("/api/songs/category/{category}", savedSong.getCategory().toString())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.[*].title").value(hasItem(savedSong.getTitle()))
+                .jsonPath("$.[*].description").value(hasItem(savedSong.getDescription()))
+                .jsonPath("$.[*].category").value(hasItem(savedSong.getCategory().toString()))
+                .jsonPath("$.[*].duration").value(hasItem(savedSong.getDuration()));
+    }
+
+    @Test
+    public void testGetSongsWithNonExistingCategory() {
+        webTestClient.get().uri("/api/songs/category/popy")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().is4xxClientError()
+                .expectBody()
+                .jsonPath("message").isEqualTo("Not found Category with value = popy");
+    }
+
+    @Test
+    public void testGetSongsByArtistName() {
+        Song savedSong = songRepository.insert(mySong).block();
+        webTestClient.get().uri("/api/songs/artist/{name}", savedSong.getArtist().getName())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.[*].id").value(hasItem(savedSong.getId().intValue()));
+    }
+
+    @Test
+    public void testGetSongById() {
+        Song savedSong = songRepository.insert(mySong).block();
+        webTestClient.get().uri("/api/songs/{id}", savedSong.getId())
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(savedSong.getId().intValue())
+                .jsonPath("$.title").isEqualTo(savedSong.getTitle())
+                .jsonPath("$.description").isEqualTo(savedSong.getDescription())
+                .jsonPath("$.category").isEqualTo(savedSong.getCategory().toString())
+                .jsonPath("$.duration").isEqualTo(savedSong.getDuration());
+    }
+
+    @Test
+    public void testGetSongByNonExistingId() {
+        webTestClient.get().uri("/api/songs/4000")
+                .exchange()
+                .expectStatus().is4xxClientError()
+                .expectBody()
+                .jsonPath("message").isEqualTo("Not found song with id = 4000");
+    }
+
+    @Test
+    public void testCreateSong() {
+        long sizeBefore = songRepository.findAll().count().block();
+        webTestClient.post().uri("/api/songs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(asJsonString(mySong))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo(mySong.getTitle())
+                .jsonPath("$.description").isEqualTo(mySong.getDescription())
+                .jsonPath("$.category").isEqualTo(mySong.getCategory().toString())
+                .jsonPath("$.duration").isEqualTo(mySong.getDuration());
+
+        List<Song> songs = songRepository.findAll().collectList().block();
+
+        assertThat(songs).hasSize((int) sizeBefore + 1);
+
+        Song lastSong = songs.get(songs.size() - 1);
+
+        assertThat(lastSong.getTitle()).isEqualTo(mySong.getTitle());
+        assertThat(lastSong.getDescription()).isEqualTo(mySong.getDescription());
+        assertThat(lastSong.getCategory()).isEqualTo(mySong.getCategory());
+        assertThat(lastSong.getDuration()).isEqualTo(mySong.getDuration());
+        assertThat(lastSong.getArtist().getId()).isEqualTo(mySong.getArtist().getId());
+    }
+
+    @Test
+    public void testCreateSongWithNonExistingArtist() {
+        mySong.getArtist().setId(5000L);
+        webTestClient.post().uri("/api/songs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(asJsonString(mySong))
+                .exchange()
+                .expectStatus().is4xxClientError()
+                .expectBody()
+                .jsonPath("message").isEqualTo("Not found artist with id = 5000");
+    }
+
+    @Test
+    public void testCreateSongWithTitleSizeLessThanThree() {
+        mySong.setTitle("S");
+        expectFieldError(mySong, "Size: titre doit être compris entre 3 et 50 caractères");
+    }
+
+    @Test
+    public void testCreateSongWithDescriptionSizeLessThanThree() {
+        mySong.setDescription("S");
+        expectFieldError(mySong, "Size: description doit être compris entre 3 et 50 caractères");
+    }
+
+    @Test
+    public void testCreateSongWithTitleNull() {
+        mySong.setTitle(null);
+        expectFieldError(mySong, "NotBlank: titre ne doit pas être null ou vide");
+    }
+
+    @Test
+    public void testUpdateSong() {
+        Song savedSong = songRepository.insert(mySong).block();
+        savedSong.setTitle("Song updated");
+        webTestClient.put().uri("/api/songs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(asJsonString(savedSong))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Song updated");
+
+        assertThat(songRepository.findById(savedSong.getId()).block().getUpdatedAt()).isNotNull();
+    }
+
+    @Test
+    public void testUpdateNotFoundSong() {
+        mySong.setId(3000L);
+        webTestClient.put().uri("/api/songs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(asJsonString(mySong))
+                .exchange()
+                .expectStatus().is4xxClientError()
+                .expectBody()
+                .jsonPath("message").isEqualTo("Not found song with id = 3000");
+    }
+
+    @Test
+    public void testUpdateSongWithTitleSizeLessThanThree() {
+        Song savedSong = songRepository.insert(mySong).block();
+        savedSong.setTitle("S");
+        expectFieldError(savedSong, "Size: titre doit être compris entre 3 et 50 caractères");
+    }
+
+    @Test
+    public void testUpdateSongWithDescriptionSizeLessThanThree() {
+        Song savedSong = songRepository.insert(mySong).block();
+        savedSong.setDescription("S");
+        expectFieldError(savedSong, "Size: description doit être compris entre 3 et 50 caractères");
+    }
+
+    @Test
+    public void testUpdateSongWithTitleNull() {
+        Song savedSong = songRepository.insert(mySong).block();
+        savedSong.setTitle(null);
+        expectFieldError(savedSong, "NotBlank: titre ne doit pas être null ou vide");
+    }
+
+    @Test
+    public void testDeleteSongById() {
+        Song savedSong = songRepository.insert(mySong).block();
+        webTestClient.delete().uri("/api/songs/{id}", savedSong.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(songRepository.findById(savedSong.getId()).block()).isNull();
+    }
+
+    @Test
+    public void testDeleteNotFoundSong() {
+        webTestClient.delete().uri("/api/songs/1000")
+                .exchange()
+                .expectStatus().is4xxClientError()
+                .expectBody()
+                .jsonPath("message").isEqualTo("Not found song with id = 1000");
+    }
+
+    @Test
+    public void testDeleteArtistDeletesItsSongs() {
+        Song savedSong = songRepository.insert(mySong).block();
+        webTestClient.delete().uri("/api/artists/{id}", savedSong.getArtist().getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(songRepository.findById(savedSong.getId()).block()).isNull();
+        assertThat(artistRepository.findById(savedSong.getArtist().getId()).block()).isNull();
+    }
+
+    private void expectFieldError(Song song, String message) {
+        webTestClient.post().uri("/api/songs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(asJsonString(song))
+                .exchange()
+                .expectStatus().is4xxClientError()
+                .expectBody()
+                .jsonPath("fieldErrors[0].message").isEqualTo(message);
+    }
+}
@@ -0,0 +1,50 @@
+package com.rest.playlist.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * the schema is created by the Flyway migrations and validated by Hibernate (ddl-auto=validate)
+ */
+@DataJpaTest
+@RunWith(SpringRunner.class)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    public void testMigrationsAreApplied() {
+        MigrationInfo[] migrations = flyway.info().all();
+        assertThat(migrations).extracting(migration -> migration.getVersion().getVersion())
+                .containsExactly("1", "2", "3");
+        assertThat(Arrays.stream(migrations).map(MigrationInfo::getState))
+                .containsOnly(MigrationState.SUCCESS);
+    }
+
+    @Test
+    public void testSongLookupIndexes() {
+        List<String> indexes = new JdbcTemplate(dataSource).queryForList(
+                "select lower(index_name) from information_schema.indexes where lower(table_name) in ('songs', 'artist')",
+                String.class);
+        assertThat(indexes).contains("idx_songs_category_id", "idx_songs_artist_id_id", "idx_artist_name");
+    }
+}
@@ -2,14 +2,18 @@ package com.rest.playlist.repository;
 
 import com.rest.playlist.enums.SongCategory;
 import com.rest.playlist.model.Song;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.Instant;
 import java.util.List;
 
@@ -27,6 +31,10 @@ public class SongRepositoryTest {
 
     @Autowired
     SongRepository songRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
     private Song savedSong;
 
     @Before
@@ -62,6 +70,36 @@ public class SongRepositoryTest {
         assertThat(songs).contains(savedSong);
     }
 
+    @Test
+    public void shouldFindSongsAfterId() {
+        List<Song> songs = songRepository.findSongsByIdGreaterThanOrderByIdAsc(savedSong.getId() - 1, PageRequest.of(0, 10));
+        assertThat(songs).isNotEmpty();
+        assertThat(songs.get(0)).isEqualTo(savedSong);
+
+        songs = songRepository.findSongsByIdGreaterThanOrderByIdAsc(savedSong.getId(), PageRequest.of(0, 10));
+        assertThat(songs).doesNotContain(savedSong);
+    }
+
+    @Test
+    public void shouldAllocateSongIdsByBlock() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        for (int i = 0; i < 10; i++) {
+            Song song = new Song();
+            song.setTitle("Pooled #" + i);
+            song.setDescription("pooled-lo allocation");
+            song.setCategory(SongCategory.JAZZ);
+            song.setDuration("2:00");
+            songRepository.save(song);
+        }
+        songRepository.flush();
+
+        // 10 inserts and at most one nextval for the whole block
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(11);
+    }
+
     @Test
     public void shouldFindSongById() {
         Song foundSong = songRepository.findById(savedSong.getId()).orElse(null);
@@ -23,6 +23,7 @@ import static com.rest.playlist.TestUtils.asJsonString;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -54,20 +55,45 @@ public class ArtistResourceUnitTest {
     @Test
     public void testGetAllArtists() throws Exception {
         artistList.add(myArtist);
-        when(playlistService.getAllArtists()).thenReturn(artistList);
+        when(playlistService.getArtistsAfter(null, 101)).thenReturn(artistList);
 
         mockMvc.perform(get("/api/artists")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[*].name").value(artistList.get(0).getName()));
-        verify(playlistService).getAllArtists();
-        verify(playlistService,times(1)).getAllArtists();
+        verify(playlistService).getArtistsAfter(null, 101);
+        verify(playlistService,times(1)).getArtistsAfter(null, 101);
+    }
+
+    @Test
+    public void testGetArtistsPageWithNextCursor() throws Exception {
+        Artist nextArtist = new Artist();
+        nextArtist.setId(1001L);
+        artistList.add(myArtist);
+        artistList.add(nextArtist);
+        when(playlistService.getArtistsAfter(null, 2)).thenReturn(artistList);
+
+        mockMvc.perform(get("/api/artists?limit=1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(1000))
+                .andExpect(header().string("X-Next-Cursor", "MTAwMA"));
+    }
+
+    @Test
+    public void testGetArtistsWithNonNumericLimit() throws Exception {
+        mockMvc.perform(get("/api/artists?limit=abc")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("statusCode").value(400))
+                .andExpect(jsonPath("message").value("Invalid limit with value = abc"));
     }
 
    @Test
     public void testGetEmptyListArtists() throws Exception {
-        when(playlistService.getAllArtists()).thenReturn(artistList);
+        when(playlistService.getArtistsAfter(null, 101)).thenReturn(artistList);
 
         mockMvc.perform(get("/api/artists")
                 .contentType(MediaType.APPLICATION_JSON))
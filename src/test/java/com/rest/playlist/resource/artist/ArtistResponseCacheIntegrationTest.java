@@ -0,0 +1,64 @@
+package com.rest.playlist.resource.artist;
+
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.service.IArtistImportService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * the response byte cache is disabled in the other tests (playlist.response-cache.enabled=false)
+ */
+@SpringBootTest(properties = "playlist.response-cache.enabled=true")
+@AutoConfigureMockMvc
+@RunWith(SpringRunner.class)
+public class ArtistResponseCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private IArtistImportService artistImportService;
+
+    @Test
+    public void testImportEvictsCachedArtistPages() throws Exception {
+        Artist anchor = new Artist();
+        anchor.setName("Page anchor");
+        anchor.setPopularity(10L);
+        anchor = artistRepository.saveAndFlush(anchor);
+        String after = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(anchor.getId()).getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(get("/api/artists").param("after", after)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/artists").param("after", after))
+                .andExpect(header().string("X-Cache", "HIT"));
+
+        Artist imported = new Artist();
+        imported.setName("Imported after cache");
+        imported.setPopularity(40L);
+        artistImportService.importArtists(Collections.singletonList(imported));
+
+        mockMvc.perform(get("/api/artists").param("after", after))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Cache", "MISS"))
+                .andExpect(jsonPath("$.[*].name").value(hasItem("Imported after cache")));
+    }
+}
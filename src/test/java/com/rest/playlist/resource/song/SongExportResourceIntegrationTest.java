@@ -0,0 +1,92 @@
+package com.rest.playlist.resource.song;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.repository.SongRepository;
+import com.rest.playlist.service.ISongService;
+import com.rest.playlist.web.resource.SongExportResource;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class SongExportResourceIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private ISongService songService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Song mySong;
+
+    @Before
+    public void setup() {
+        this.mockMvc = MockMvcBuilders.standaloneSetup(new SongExportResource(songService, objectMapper)).build();
+
+        Artist artist = new Artist();
+        artist.setName("Artist #1");
+        artist.setPopularity(40L);
+
+        mySong = new Song();
+        mySong.setTitle("For The Lover That I Lost");
+        mySong.setDescription("Live At Abbey Road Studios");
+        mySong.setCategory(SongCategory.POP);
+        mySong.setDuration("3:01");
+        mySong.setArtist(artistRepository.saveAndFlush(artist));
+    }
+
+    @Test
+    public void testExportSongs() throws Exception {
+        Song savedSong = songRepository.saveAndFlush(mySong);
+        long count = songRepository.count();
+
+        MvcResult result = mockMvc.perform(get("/api/songs/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<String> lines = Arrays.asList(body.split("\n"));
+        assertThat(body).endsWith("\n");
+        assertThat(lines).hasSize((int) count);
+
+        Song lastSong = objectMapper.readValue(lines.get(lines.size() - 1), Song.class);
+        assertThat(lastSong.getId()).isEqualTo(savedSong.getId());
+        assertThat(lastSong.getTitle()).isEqualTo(savedSong.getTitle());
+        assertThat(lastSong.getArtist().getName()).isEqualTo("Artist #1");
+    }
+}
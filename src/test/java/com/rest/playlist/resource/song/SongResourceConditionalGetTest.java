@@ -0,0 +1,179 @@
+package com.rest.playlist.resource.song;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.service.ISongService;
+import com.rest.playlist.web.exception.ServiceExceptionHandler;
+import com.rest.playlist.web.resource.SongResource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class SongResourceConditionalGetTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ServiceExceptionHandler serviceExceptionHandler;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private ISongService songService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Song mySong;
+
+    @Before
+    public void setup() {
+        this.mockMvc = MockMvcBuilders.standaloneSetup(new SongResource(songService))
+                .setControllerAdvice(serviceExceptionHandler)
+                .build();
+
+        Artist artist = new Artist();
+        artist.setName("Conditional Artist");
+        artist.setPopularity(55L);
+
+        Song song = new Song();
+        song.setTitle("Conditional song");
+        song.setDescription("ETag and Last-Modified");
+        song.setCategory(SongCategory.JAZZ);
+        song.setDuration("2:45");
+        song.setArtist(artistRepository.saveAndFlush(artist));
+        mySong = songService.createSong(song);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    private String etagOf(String url, Object... vars) throws Exception {
+        return mockMvc.perform(get(url, vars))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    public void testGetSongByIdNotModified() throws Exception {
+        String etag = etagOf("/api/songs/{id}", mySong.getId());
+
+        statistics.clear();
+        mockMvc.perform(get("/api/songs/{id}", mySong.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void testGetSongByIdNotModifiedSince() throws Exception {
+        String lastModified = mockMvc.perform(get("/api/songs/{id}", mySong.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/api/songs/{id}", mySong.getId()).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    /**
+     * a delete does not move the last update of the list : the list has no Last-Modified
+     * and If-Modified-Since alone never answers a 304
+     */
+    @Test
+    public void testGetSongsByCategoryModifiedAfterDelete() throws Exception {
+        mockMvc.perform(get("/api/songs/category/{category}", "JAZZ"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED));
+        String fetchedAt = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC));
+
+        songService.deleteSongById(mySong.getId());
+
+        mockMvc.perform(get("/api/songs/category/{category}", "JAZZ").header(HttpHeaders.IF_MODIFIED_SINCE, fetchedAt))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("\"id\":" + mySong.getId() + ","))));
+    }
+
+    @Test
+    public void testGetSongByIdModifiedAfterUpdate() throws Exception {
+        String etag = etagOf("/api/songs/{id}", mySong.getId());
+
+        Thread.sleep(5);
+        mySong.setTitle("Conditional updated");
+        songService.updateSong(mySong);
+
+        String newEtag = mockMvc.perform(get("/api/songs/{id}", mySong.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotEqualTo(etag);
+    }
+
+    @Test
+    public void testGetSongsByCategoryNotModifiedUntilCreate() throws Exception {
+        String etag = etagOf("/api/songs/category/{category}", "JAZZ");
+
+        statistics.clear();
+        mockMvc.perform(get("/api/songs/category/{category}", "jazz").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        Song song = new Song();
+        song.setTitle("Another jazz song");
+        song.setDescription("ETag and Last-Modified");
+        song.setCategory(SongCategory.JAZZ);
+        song.setDuration("2:45");
+        song.setArtist(mySong.getArtist());
+        songService.createSong(song);
+
+        mockMvc.perform(get("/api/songs/category/{category}", "JAZZ").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testGetSongsPageNotModified() throws Exception {
+        String etag = etagOf("/api/songs?limit=5");
+
+        statistics.clear();
+        mockMvc.perform(get("/api/songs?limit=5").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    public void testGetSongsByArtistNameNotModified() throws Exception {
+        String etag = etagOf("/api/songs/artist/{name}", "Conditional Artist");
+
+        mockMvc.perform(get("/api/songs/artist/{name}", "Conditional Artist").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+}
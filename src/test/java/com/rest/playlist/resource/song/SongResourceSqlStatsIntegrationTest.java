@@ -0,0 +1,117 @@
+package com.rest.playlist.resource.song;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.service.ISongService;
+import com.rest.playlist.web.sqlstats.SqlStats;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.lang.reflect.Proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * the X-Sql-* headers are only sent with playlist.sql-stats.headers=true
+ */
+@SpringBootTest(properties = "playlist.sql-stats.headers=true")
+@AutoConfigureMockMvc
+@RunWith(SpringRunner.class)
+public class SongResourceSqlStatsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private ISongService songService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Artist artist;
+
+    @Before
+    public void setup() {
+        Artist myArtist = new Artist();
+        myArtist.setName("Sql Stats " + System.nanoTime() % 100000);
+        myArtist.setPopularity(60L);
+        artist = artistRepository.saveAndFlush(myArtist);
+    }
+
+    private Song createSong(String title) {
+        Song song = new Song();
+        song.setTitle(title);
+        song.setDescription("Sql stats");
+        song.setCategory(SongCategory.POP);
+        song.setDuration("4:00");
+        song.setArtist(artist);
+        return songService.createSong(song);
+    }
+
+    @Test
+    public void testStatsHeaders() throws Exception {
+        createSong("First counted");
+        createSong("Second counted");
+
+        mockMvc.perform(get("/api/songs/artist/{name}", artist.getName()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Sql-Statements", "1"))
+                .andExpect(header().string("X-Sql-Rows", "2"))
+                .andExpect(header().exists("X-Sql-Time-Ms"))
+                .andExpect(header().doesNotExist("X-Sql-N-Plus-One"));
+    }
+
+    @Test
+    public void testRepeatedSelectIsSuspectedNPlusOne() {
+        Long id = createSong("Repeated select").getId();
+
+        SqlStats stats = SqlStats.begin();
+        try {
+            for (int i = 0; i < 5; i++) {
+                jdbcTemplate.queryForList("select title from songs where id = ?", id);
+            }
+            jdbcTemplate.queryForList("select name from artist where id = ?", artist.getId());
+        } finally {
+            SqlStats.end();
+        }
+
+        assertThat(stats.getStatements()).isEqualTo(6);
+        assertThat(stats.getRows()).isEqualTo(6);
+        assertThat(stats.getMostRepeatedCount()).isEqualTo(5);
+        assertThat(stats.getMostRepeatedSelect()).isEqualTo("select title from songs where id = ?");
+        assertThat(stats.isNPlusOneSuspected(5)).isTrue();
+    }
+
+    @Test
+    public void testResultSetsAreOnlyProxiedDuringARequest() {
+        assertThat(resultSetIsProxied()).isFalse();
+
+        SqlStats.begin();
+        try {
+            assertThat(resultSetIsProxied()).isTrue();
+        } finally {
+            SqlStats.end();
+        }
+    }
+
+    private boolean resultSetIsProxied() {
+        ResultSetExtractor<Boolean> isProxy = resultSet -> Proxy.isProxyClass(resultSet.getClass());
+        return jdbcTemplate.query("select 1", isProxy);
+    }
+}
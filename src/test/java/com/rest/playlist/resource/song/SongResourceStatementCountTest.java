@@ -0,0 +1,245 @@
+package com.rest.playlist.resource.song;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.repository.SongRepository;
+import com.rest.playlist.service.IArtistService;
+import com.rest.playlist.service.ISongService;
+import com.rest.playlist.web.exception.ServiceExceptionHandler;
+import com.rest.playlist.web.resource.SongResource;
+import com.rest.playlist.web.sqlstats.SqlStats;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+
+import static com.rest.playlist.TestUtils.asJsonString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guard against N+1 selects on Song.artist :
+ * every list endpoint must run a single select whatever the number of distinct artists,
+ * an update reads the song and its artist once and merges nothing,
+ * a delete reads the song with its artist and deletes it, the other songs stay in the second-level cache.
+ */
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class SongResourceStatementCountTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ServiceExceptionHandler serviceExceptionHandler;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private ISongService songService;
+
+    @Autowired
+    private IArtistService artistService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @Before
+    public void setup() {
+        this.mockMvc = MockMvcBuilders.standaloneSetup(new SongResource(songService))
+                .setControllerAdvice(serviceExceptionHandler)
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            Artist artist = new Artist();
+            artist.setName("Statement Artist");
+            artist.setPopularity(40L + i);
+            artist = artistRepository.saveAndFlush(artist);
+
+            Song song = new Song();
+            song.setTitle("Song #" + i);
+            song.setDescription("Statement count");
+            song.setCategory(SongCategory.JAZZ);
+            song.setDuration("3:01");
+            song.setArtist(artist);
+            songRepository.saveAndFlush(song);
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    public void testGetAllSongsRunsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/songs")).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetSongsByCategoryRunsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/songs/category/{category}", "JAZZ")).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetSongsByArtistNameRunsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/songs/artist/{name}", "Statement Artist")).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetSongByIdRunsOneStatement() throws Exception {
+        Long id = songRepository.findSongsByArtist_Name("Statement Artist").get(0).getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        mockMvc.perform(get("/api/songs/{id}", id)).andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetSongByIdFromSecondLevelCacheRunsNoStatement() throws Exception {
+        Long id = songRepository.findSongsByArtist_Name("Statement Artist").get(0).getId();
+        mockMvc.perform(get("/api/songs/{id}", id)).andExpect(status().isOk());
+        statistics.clear();
+
+        mockMvc.perform(get("/api/songs/{id}", id)).andExpect(status().isOk());
+        // the song and its artist are served by their regions
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    public void testUpdateSongRunsOneSelect() throws Exception {
+        Song song = songRepository.findSongsByArtist_Name("Statement Artist").get(0);
+        song.setTitle("Song updated");
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        SqlStats sqlStats = SqlStats.begin();
+        try {
+            mockMvc.perform(put("/api/songs")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(asJsonString(song)))
+                    .andExpect(status().isOk());
+        } finally {
+            SqlStats.end();
+        }
+
+        // the song and its artist in one select, no merge : Envers statements aside, one update
+        assertThat(entitySelects(sqlStats)).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(songRepository.findById(song.getId()).get().getTitle()).isEqualTo("Song updated");
+    }
+
+    @Test
+    public void testUpdateSongWithAnotherArtistReadsTheArtist() throws Exception {
+        List<Song> songs = songRepository.findSongsByArtist_Name("Statement Artist");
+        Song song = songs.get(0);
+        Artist otherArtist = songs.get(1).getArtist();
+        song.setArtist(otherArtist);
+        entityManagerFactory.getCache().evictAll();
+
+        SqlStats sqlStats = SqlStats.begin();
+        try {
+            mockMvc.perform(put("/api/songs")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(asJsonString(song)))
+                    .andExpect(status().isOk());
+        } finally {
+            SqlStats.end();
+        }
+
+        assertThat(entitySelects(sqlStats)).isEqualTo(2);
+        assertThat(songRepository.findById(song.getId()).get().getArtist().getId()).isEqualTo(otherArtist.getId());
+    }
+
+    @Test
+    public void testDeleteSongReadsTheSongOnce() throws Exception {
+        Long id = songRepository.findSongsByArtist_Name("Statement Artist").get(0).getId();
+        entityManagerFactory.getCache().evictAll();
+
+        SqlStats sqlStats = SqlStats.begin();
+        try {
+            mockMvc.perform(delete("/api/songs/{id}", id)).andExpect(status().isOk());
+        } finally {
+            SqlStats.end();
+        }
+
+        // the song with its artist (for the change event), then the delete
+        assertThat(sqlStats.getStatements()).isEqualTo(2);
+        assertThat(songRepository.findById(id)).isNotPresent();
+    }
+
+    @Test
+    public void testDeleteSongKeepsTheOtherSongsCached() throws Exception {
+        List<Song> songs = songRepository.findSongsByArtist_Name("Statement Artist");
+        Long deletedId = songs.get(0).getId();
+        Long keptId = songs.get(1).getId();
+        mockMvc.perform(get("/api/songs/{id}", keptId)).andExpect(status().isOk());
+        assertThat(entityManagerFactory.getCache().contains(Song.class, keptId)).isTrue();
+
+        mockMvc.perform(delete("/api/songs/{id}", deletedId)).andExpect(status().isOk());
+
+        assertThat(entityManagerFactory.getCache().contains(Song.class, keptId)).isTrue();
+        assertThat(songRepository.findById(deletedId)).isNotPresent();
+    }
+
+    @Test
+    public void testDeleteMissingSongIsNotFound() throws Exception {
+        mockMvc.perform(delete("/api/songs/{id}", 4000L)).andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testDeleteArtistDoesNotDependOnItsSongCount() {
+        Artist artist = songRepository.findSongsByArtist_Name("Statement Artist").get(0).getArtist();
+        for (int i = 0; i < 5; i++) {
+            Song song = new Song();
+            song.setTitle("Other song #" + i);
+            song.setDescription("Statement count");
+            song.setCategory(SongCategory.POP);
+            song.setDuration("2:30");
+            song.setArtist(artist);
+            songRepository.saveAndFlush(song);
+        }
+        entityManagerFactory.getCache().evictAll();
+
+        SqlStats sqlStats = SqlStats.begin();
+        try {
+            artistService.deleteArtistById(artist.getId());
+        } finally {
+            SqlStats.end();
+        }
+
+        // the name of the artist, the delete of its songs, the delete of the artist
+        assertThat(sqlStats.getStatements()).isEqualTo(3);
+        assertThat(artistRepository.findById(artist.getId())).isNotPresent();
+    }
+
+    private static int entitySelects(SqlStats sqlStats) {
+        return sqlStats.getSelects().entrySet().stream()
+                .filter(select -> select.getKey().contains(" from songs ") || select.getKey().contains(" from artist "))
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+    }
+}
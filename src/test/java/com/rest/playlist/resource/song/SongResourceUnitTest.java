@@ -5,6 +5,8 @@ import com.rest.playlist.web.exception.ResourceNotFoundException;
 import com.rest.playlist.model.Song;
 import com.rest.playlist.web.resource.SongResource;
 import com.rest.playlist.service.ISongService;
+import com.rest.playlist.service.ISongWriteBehindService;
+import com.rest.playlist.web.exception.TooManyRequestsException;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -24,6 +26,7 @@ import static com.rest.playlist.TestUtils.asJsonString;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -39,6 +42,9 @@ public class SongResourceUnitTest {
     @MockBean
     private ISongService songService;
 
+    @MockBean
+    private ISongWriteBehindService songWriteBehindService;
+
     private Song mySong;
     private List<Song> songList = new ArrayList<>();
 
@@ -57,7 +63,7 @@ public class SongResourceUnitTest {
     @Test
     public void testGetAllSongs() throws Exception {
         songList.add(mySong);
-        when(songService.getAllSongs()).thenReturn(songList);
+        when(songService.getSongsAfter(null, 101)).thenReturn(songList);
 
         mockMvc.perform(get("/api/songs")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -67,13 +73,66 @@ public class SongResourceUnitTest {
                 .andExpect(jsonPath("$[*].description").value(songList.get(0).getDescription()))
                 .andExpect(jsonPath("$[*].category").value(songList.get(0).getCategory().toString()))
                 .andExpect(jsonPath("$[*].duration").value(songList.get(0).getDuration()));
-        verify(songService).getAllSongs();
-        verify(songService,times(1)).getAllSongs();
+        verify(songService).getSongsAfter(null, 101);
+        verify(songService,times(1)).getSongsAfter(null, 101);
+    }
+
+    @Test
+    public void testGetSongsPageWithNextCursor() throws Exception {
+        mySong.setId(1000L);
+        Song nextSong = new Song();
+        nextSong.setId(1001L);
+        songList.add(mySong);
+        songList.add(nextSong);
+        when(songService.getSongsAfter(null, 2)).thenReturn(songList);
+
+        mockMvc.perform(get("/api/songs?limit=1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(1000))
+                .andExpect(header().string("X-Next-Cursor", "MTAwMA"));
+    }
+
+    @Test
+    public void testGetSongsPageAfterCursor() throws Exception {
+        songList.add(mySong);
+        when(songService.getSongsAfter(1000L, 2)).thenReturn(songList);
+
+        mockMvc.perform(get("/api/songs?after=MTAwMA&limit=1")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    public void testGetSongsWithInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/songs?after=***")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("message").value("Invalid cursor with value = ***"));
+    }
+
+    @Test
+    public void testGetSongsWithInvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/songs?limit=0")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetSongsWithNonNumericLimit() throws Exception {
+        mockMvc.perform(get("/api/songs?limit=abc")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("statusCode").value(400))
+                .andExpect(jsonPath("message").value("Invalid limit with value = abc"));
     }
 
    @Test
     public void testGetEmptyListSongs() throws Exception {
-        when(songService.getAllSongs()).thenReturn(songList);
+        when(songService.getSongsAfter(null, 101)).thenReturn(songList);
 
         mockMvc.perform(get("/api/songs")
                 .contentType(MediaType.APPLICATION_JSON))
@@ -152,6 +211,63 @@ public class SongResourceUnitTest {
         verify(songService,times(1)).createSong(any());
     }
 
+    @Test
+    public void testCreateSongs() throws Exception {
+        songList.add(mySong);
+        songList.add(mySong);
+        when(songService.createSongs(anyList())).thenReturn(songList);
+        mockMvc.perform(post("/api/songs/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(asJsonString(songList)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)));
+        verify(songService, times(1)).createSongs(anyList());
+    }
+
+    @Test
+    public void testCreateSongsWithInvalidElement() throws Exception {
+        Song invalidSong = new Song();
+        invalidSong.setTitle("S");
+        invalidSong.setDescription("Live At Abbey Road Studios");
+        invalidSong.setCategory(SongCategory.POP);
+        invalidSong.setDuration("3:01");
+        songList.add(mySong);
+        songList.add(invalidSong);
+        mockMvc.perform(post("/api/songs/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(asJsonString(songList)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("fieldErrors", hasSize(1)))
+                .andExpect(jsonPath("fieldErrors[0].field").value("createSongs.songs[1].title"))
+                .andExpect(jsonPath("fieldErrors[0].message")
+                        .value("Size: titre doit être compris entre 3 et 50 caractères"));
+        verify(songService, never()).createSongs(anyList());
+    }
+
+    @Test
+    public void testCreateSongsWithNullElement() throws Exception {
+        mockMvc.perform(post("/api/songs/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content("[null]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("fieldErrors", hasSize(1)))
+                .andExpect(jsonPath("fieldErrors[0].field").value("createSongs.songs[0].<list element>"))
+                .andExpect(jsonPath("fieldErrors[0].message").value("NotNull: song ne doit pas être null"));
+        verify(songService, never()).createSongs(anyList());
+    }
+
+    @Test
+    public void testCreateSongsWithEmptyList() throws Exception {
+        mockMvc.perform(post("/api/songs/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void testCreateSongWithTitleSizeLessThanThree() throws Exception {
         mySong.setTitle("S");
@@ -266,4 +382,36 @@ public class SongResourceUnitTest {
                 .andExpect(status().is4xxClientError())
                 .andExpect(jsonPath("message").value("Not found Song with id = 1000"));
     }
+
+    @Test
+    public void testCreateSongWithWriteBehind() throws Exception {
+        Song acceptedSong = new Song();
+        acceptedSong.setId(1000L);
+        acceptedSong.setTitle(mySong.getTitle());
+        when(songWriteBehindService.isEnabled()).thenReturn(true);
+        when(songWriteBehindService.submit(any(Song.class))).thenReturn(acceptedSong);
+
+        mockMvc.perform(post("/api/songs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(asJsonString(mySong)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(1000));
+        verify(songService, never()).createSong(any(Song.class));
+    }
+
+    @Test
+    public void testCreateSongWithFullWriteBehindQueue() throws Exception {
+        when(songWriteBehindService.isEnabled()).thenReturn(true);
+        when(songWriteBehindService.submit(any(Song.class)))
+                .thenThrow(new TooManyRequestsException("Too many pending song writes, the write-behind queue holds 10 songs"));
+
+        mockMvc.perform(post("/api/songs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(asJsonString(mySong)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("message").value("Too many pending song writes, the write-behind queue holds 10 songs"));
+    }
 }
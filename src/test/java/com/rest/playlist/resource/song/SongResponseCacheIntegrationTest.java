@@ -0,0 +1,102 @@
+package com.rest.playlist.resource.song;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.service.ISongService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * the response byte cache is disabled in the other tests (playlist.response-cache.enabled=false)
+ */
+@SpringBootTest(properties = "playlist.response-cache.enabled=true")
+@AutoConfigureMockMvc
+@RunWith(SpringRunner.class)
+public class SongResponseCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private ISongService songService;
+
+    private Artist artist;
+
+    @Before
+    public void setup() {
+        Artist myArtist = new Artist();
+        myArtist.setName("Response Cache " + System.nanoTime() % 100000);
+        myArtist.setPopularity(20L);
+        artist = artistRepository.saveAndFlush(myArtist);
+    }
+
+    private Song createSong(String title) {
+        Song song = new Song();
+        song.setTitle(title);
+        song.setDescription("Response cache");
+        song.setCategory(SongCategory.CLASSICAL);
+        song.setDuration("5:00");
+        song.setArtist(artist);
+        return songService.createSong(song);
+    }
+
+    @Test
+    public void testSecondCallIsServedFromCache() throws Exception {
+        createSong("First cached");
+        String first = mockMvc.perform(get("/api/songs/artist/{name}", artist.getName()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Cache", "MISS"))
+                .andReturn().getResponse().getContentAsString();
+
+        String second = mockMvc.perform(get("/api/songs/artist/{name}", artist.getName()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Cache", "HIT"))
+                .andExpect(header().string("Content-Type", "application/json"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    public void testCreateSongEvictsCachedLists() throws Exception {
+        mockMvc.perform(get("/api/songs/category/classical")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/songs/category/CLASSICAL")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/songs/category/CLASSICAL"))
+                .andExpect(header().string("X-Cache", "HIT"));
+        mockMvc.perform(get("/api/songs/artist/{name}", artist.getName())).andExpect(status().isOk());
+
+        createSong("Evicting song");
+
+        mockMvc.perform(get("/api/songs/category/CLASSICAL"))
+                .andExpect(header().string("X-Cache", "MISS"));
+        mockMvc.perform(get("/api/songs/artist/{name}", artist.getName()))
+                .andExpect(header().string("X-Cache", "MISS"))
+                .andExpect(jsonPath("$.[*].title").value(hasItem("Evicting song")));
+    }
+
+    @Test
+    public void testNotFoundIsNotCached() throws Exception {
+        mockMvc.perform(get("/api/songs/category/popy")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/songs/category/popy"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("X-Cache", "MISS"));
+    }
+}
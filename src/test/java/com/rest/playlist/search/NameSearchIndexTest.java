@@ -0,0 +1,98 @@
+package com.rest.playlist.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NameSearchIndexTest {
+
+    private static final double MIN_SIMILARITY = 0.3;
+
+    private NameSearchIndex index;
+
+    @Before
+    public void setup() {
+        index = new NameSearchIndex();
+        index.put(NameSearchIndex.Type.ARTIST, 1L, "The Beatles", 1L);
+        index.put(NameSearchIndex.Type.ARTIST, 2L, "Beyoncé", 2L);
+        index.put(NameSearchIndex.Type.ARTIST, 3L, "Adele", 3L);
+        index.put(NameSearchIndex.Type.SONG, 10L, "Beat It", 4L);
+        index.put(NameSearchIndex.Type.SONG, 11L, "Let It Be", 1L);
+        index.put(NameSearchIndex.Type.SONG, 12L, "Hello", 3L);
+    }
+
+    @Test
+    public void testPrefixIgnoresCaseAndAccents() {
+        assertThat(names(index.search("BEYON", null, 10, MIN_SIMILARITY))).first().isEqualTo("Beyoncé");
+        assertThat(names(index.search("beyonce", null, 10, MIN_SIMILARITY))).first().isEqualTo("Beyoncé");
+    }
+
+    @Test
+    public void testPrefixOfAWord() {
+        List<NameSearchHit> hits = index.search("beat", null, 10, MIN_SIMILARITY);
+        assertThat(names(hits)).startsWith("Beat It", "The Beatles");
+        assertThat(hits.get(0).getScore()).isGreaterThan(hits.get(1).getScore());
+    }
+
+    @Test
+    public void testFuzzyMatchFindsTypos() {
+        List<NameSearchHit> hits = index.search("beatels", NameSearchIndex.Type.ARTIST, 10, MIN_SIMILARITY);
+        assertThat(names(hits)).containsExactly("The Beatles");
+        assertThat(hits.get(0).getScore()).isLessThan(0.7);
+        assertThat(index.search("adel", null, 10, MIN_SIMILARITY)).extracting(NameSearchHit::getId).contains(3L);
+        assertThat(index.search("zzzz", null, 10, MIN_SIMILARITY)).isEmpty();
+    }
+
+    @Test
+    public void testTypeFilterAndLimit() {
+        assertThat(index.search("be", NameSearchIndex.Type.SONG, 10, MIN_SIMILARITY))
+                .extracting(NameSearchHit::getType)
+                .containsOnly(NameSearchIndex.Type.SONG);
+        assertThat(index.search("be", null, 1, MIN_SIMILARITY)).hasSize(1);
+    }
+
+    @Test
+    public void testPutReplacesAndRemoveArtistRemovesItsSongs() {
+        index.put(NameSearchIndex.Type.ARTIST, 1L, "Wings", 1L);
+        assertThat(index.search("beatles", NameSearchIndex.Type.ARTIST, 10, MIN_SIMILARITY)).isEmpty();
+        assertThat(names(index.search("wings", null, 10, MIN_SIMILARITY))).containsExactly("Wings");
+
+        index.removeArtist(1L);
+        assertThat(index.size(NameSearchIndex.Type.ARTIST)).isEqualTo(2);
+        assertThat(index.size(NameSearchIndex.Type.SONG)).isEqualTo(2);
+        assertThat(index.search("let it be", null, 10, MIN_SIMILARITY)).extracting(NameSearchHit::getId).doesNotContain(11L);
+    }
+
+    @Test
+    public void testSearchAmongManyNames() {
+        for (long id = 100; id < 100_100; id++) {
+            index.put(NameSearchIndex.Type.SONG, id, "Song number " + id, 1L);
+        }
+        assertThat(names(index.search("song number 4242", null, 3, MIN_SIMILARITY))).first().isEqualTo("Song number 4242");
+        assertThat(index.search("song", null, 5, MIN_SIMILARITY)).hasSize(5);
+    }
+
+    @Test
+    public void testSearchAfterRemovingMostNames() {
+        for (long id = 100; id < 10_100; id++) {
+            index.put(NameSearchIndex.Type.SONG, id, "Track " + id, 2L);
+        }
+        for (long id = 100; id < 10_000; id++) {
+            index.remove(NameSearchIndex.Type.SONG, id);
+        }
+        index.put(NameSearchIndex.Type.SONG, 10_050L, "Track 10050 remix", 2L);
+
+        assertThat(index.size(NameSearchIndex.Type.SONG)).isEqualTo(103);
+        assertThat(names(index.search("trakc 10050", null, 3, MIN_SIMILARITY))).first().isEqualTo("Track 10050 remix");
+        assertThat(index.search("track 4242", null, 100, MIN_SIMILARITY)).extracting(NameSearchHit::getId).doesNotContain(4242L);
+        assertThat(names(index.search("beatels", NameSearchIndex.Type.ARTIST, 10, MIN_SIMILARITY))).containsExactly("The Beatles");
+    }
+
+    private static List<String> names(List<NameSearchHit> hits) {
+        return hits.stream().map(NameSearchHit::getName).collect(Collectors.toList());
+    }
+}
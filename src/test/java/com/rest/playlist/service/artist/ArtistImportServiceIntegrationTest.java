@@ -0,0 +1,124 @@
+package com.rest.playlist.service.artist;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.service.ArtistImportResult;
+import com.rest.playlist.service.IArtistImportService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class ArtistImportServiceIntegrationTest {
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private IArtistImportService artistImportService;
+
+    private Artist artist(String name, Long popularity) {
+        Artist artist = new Artist();
+        artist.setName(name);
+        artist.setPopularity(popularity);
+        return artist;
+    }
+
+    @Test
+    public void testImportArtists() {
+        long countBefore = artistRepository.count();
+
+        List<ArtistImportResult> results = artistImportService.importArtists(Arrays.asList(
+                artist("Imported #1", 10L),
+                artist("I", 10L),
+                artist("Imported #2", 20L),
+                artist("Imported #3", 120L)));
+
+        assertThat(results).hasSize(4);
+        assertThat(results).extracting(ArtistImportResult::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(results).extracting(ArtistImportResult::getStatus).containsExactly(
+                ArtistImportResult.Status.CREATED,
+                ArtistImportResult.Status.INVALID,
+                ArtistImportResult.Status.CREATED,
+                ArtistImportResult.Status.INVALID);
+        assertThat(results.get(1).getErrors()).containsExactly("name: name doit être compris entre 3 et 50 caractères");
+        assertThat(results.get(3).getErrors()).containsExactly("popularity: popularity doit être entre 0 et 100");
+
+        assertThat(artistRepository.count()).isEqualTo(countBefore + 2);
+        assertThat(artistRepository.findById(results.get(0).getId())).isPresent()
+                .get().hasFieldOrPropertyWithValue("name", "Imported #1");
+    }
+
+    @Test
+    public void testImportArtistsOverSeveralBatches() {
+        long countBefore = artistRepository.count();
+        List<Artist> artists = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            artists.add(artist("Imported batch #" + i, 50L));
+        }
+
+        List<ArtistImportResult> results = artistImportService.importArtists(artists);
+
+        assertThat(results).allMatch(result -> result.getStatus() == ArtistImportResult.Status.CREATED);
+        assertThat(results).extracting(ArtistImportResult::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(artistRepository.count()).isEqualTo(countBefore + 130);
+    }
+
+    @Test
+    public void testImportArtistsWithNullElement() {
+        long countBefore = artistRepository.count();
+
+        List<ArtistImportResult> results = artistImportService.importArtists(Arrays.asList(
+                artist("Imported before null", 10L),
+                null));
+
+        assertThat(results).extracting(ArtistImportResult::getStatus).containsExactly(
+                ArtistImportResult.Status.CREATED,
+                ArtistImportResult.Status.INVALID);
+        assertThat(results.get(1).getErrors()).containsExactly("artist must not be null");
+        assertThat(artistRepository.count()).isEqualTo(countBefore + 1);
+    }
+
+    /**
+     * the duration of the song is too long for its column : the chunk fails at the flush,
+     * its other rows are saved by the row by row replay
+     */
+    @Test
+    public void testFailedChunkIsReplayedRowByRow() {
+        long countBefore = artistRepository.count();
+        Artist failing = artist("Imported failing", 30L);
+        Song song = new Song();
+        song.setTitle("Too long");
+        song.setDescription("Column overflow");
+        song.setCategory(SongCategory.POP);
+        song.setDuration(String.join("", Collections.nCopies(300, "9")));
+        song.setArtist(failing);
+        failing.getSongs().add(song);
+
+        List<ArtistImportResult> results = artistImportService.importArtists(Arrays.asList(
+                artist("Imported replay #1", 10L),
+                failing,
+                artist("Imported replay #2", 20L)));
+
+        assertThat(results).extracting(ArtistImportResult::getStatus).containsExactly(
+                ArtistImportResult.Status.CREATED,
+                ArtistImportResult.Status.FAILED,
+                ArtistImportResult.Status.CREATED);
+        assertThat(results.get(1).getErrors()).hasSize(1);
+        assertThat(artistRepository.count()).isEqualTo(countBefore + 2);
+        assertThat(artistRepository.findById(results.get(2).getId())).isPresent()
+                .get().hasFieldOrPropertyWithValue("name", "Imported replay #2");
+    }
+}
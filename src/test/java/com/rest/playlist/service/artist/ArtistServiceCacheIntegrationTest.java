@@ -0,0 +1,123 @@
+package com.rest.playlist.service.artist;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.service.IArtistService;
+import com.rest.playlist.service.ISongService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class ArtistServiceCacheIntegrationTest {
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private IArtistService artistService;
+
+    @Autowired
+    private ISongService songService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    private Artist defaultArtist;
+
+    @Before
+    public void setup() {
+        Artist artist = new Artist();
+        artist.setName("Cached Artist");
+        artist.setPopularity(70L);
+        defaultArtist = artistRepository.saveAndFlush(artist);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    public void testGetArtistByIdIsServedFromSecondLevelCache() {
+        artistService.getArtistById(defaultArtist.getId());
+        Artist artist = artistService.getArtistById(defaultArtist.getId());
+
+        CacheRegionStatistics region = statistics.getDomainDataRegionStatistics("artist");
+        assertThat(artist.getName()).isEqualTo("Cached Artist");
+        assertThat(region.getHitCount()).isEqualTo(2);
+        assertThat(region.getMissCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    public void testUpdateArtistRefreshesSecondLevelCache() {
+        defaultArtist.setName("Cached Artist updated");
+        artistService.updateArtist(defaultArtist);
+
+        Artist artist = artistService.getArtistById(defaultArtist.getId());
+        assertThat(artist.getName()).isEqualTo("Cached Artist updated");
+    }
+
+    @Test
+    public void testCreatedAndMovedSongsEvictTheCachedArtistSongs() {
+        Artist otherArtist = new Artist();
+        otherArtist.setName("Other Cached Artist");
+        otherArtist.setPopularity(71L);
+        otherArtist = artistRepository.saveAndFlush(otherArtist);
+        assertThat(songTitles(defaultArtist.getId())).isEmpty();
+        assertThat(songTitles(otherArtist.getId())).isEmpty();
+
+        Song song = songService.createSong(song(defaultArtist.getId()));
+        assertThat(songTitles(defaultArtist.getId())).containsExactly("Cached song");
+
+        song.setArtist(otherArtist);
+        songService.updateSong(song);
+        assertThat(songTitles(defaultArtist.getId())).isEmpty();
+        assertThat(songTitles(otherArtist.getId())).containsExactly("Cached song");
+    }
+
+    /**
+     * Artist.songs as read from the artist_songs region (or the database on a miss)
+     */
+    private List<String> songTitles(Long artistId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> artistRepository.findById(artistId).get().getSongs().stream()
+                .map(Song::getTitle)
+                .collect(Collectors.toList()));
+    }
+
+    private static Song song(Long artistId) {
+        Artist reference = new Artist();
+        reference.setId(artistId);
+        Song song = new Song();
+        song.setTitle("Cached song");
+        song.setDescription("Second-level cache");
+        song.setCategory(SongCategory.POP);
+        song.setDuration("3:01");
+        song.setArtist(reference);
+        return song;
+    }
+}
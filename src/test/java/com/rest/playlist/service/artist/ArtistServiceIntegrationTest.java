@@ -1,9 +1,13 @@
 package com.rest.playlist.service.artist;
 
 import com.rest.playlist.web.exception.ResourceNotFoundException;
+import com.rest.playlist.enums.SongCategory;
 import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
 import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.repository.SongRepository;
 import com.rest.playlist.service.ArtistServiceImpl;
+import org.hibernate.envers.AuditReaderFactory;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -14,6 +18,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,9 +35,15 @@ public class ArtistServiceIntegrationTest {
     @Autowired
     private ArtistRepository artistRepository;
 
+    @Autowired
+    private SongRepository songRepository;
+
     @Autowired
     private ArtistServiceImpl playlistService;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private Artist defaultArtist;
 
     @Before
@@ -101,10 +113,38 @@ public class ArtistServiceIntegrationTest {
 
     }
 
+    @Test
+    public void testDeleteArtistDeletesItsSongs() {
+        for (int i = 0; i < 3; i++) {
+            Song song = new Song();
+            song.setTitle("Song #" + i);
+            song.setDescription("Description #" + i);
+            song.setCategory(SongCategory.POP);
+            song.setDuration("3:01");
+            song.setArtist(defaultArtist);
+            songRepository.saveAndFlush(song);
+        }
+
+        playlistService.deleteArtistById(defaultArtist.getId());
+
+        assertThat(artistRepository.findById(defaultArtist.getId())).isNotPresent();
+        assertThat(songRepository.findSongsByArtist_Name(defaultArtist.getName())).isEmpty();
+    }
+
     @Test(expected = ResourceNotFoundException.class)
     public void testDeleteArtistWithNonExistingId() {
         playlistService.deleteArtistById(4000L);
 
     }
 
+    /**
+     * the deletes are bulk statements, Envers does not see them :
+     * auditing Song or Artist needs the deletes to write their revisions
+     */
+    @Test
+    public void testSongsAndArtistsAreNotAudited() {
+        assertThat(AuditReaderFactory.get(entityManager).isEntityClassAudited(Song.class)).isFalse();
+        assertThat(AuditReaderFactory.get(entityManager).isEntityClassAudited(Artist.class)).isFalse();
+    }
+
 }
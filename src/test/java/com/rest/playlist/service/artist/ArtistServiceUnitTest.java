@@ -3,13 +3,16 @@ package com.rest.playlist.service.artist;
 import com.rest.playlist.web.exception.ResourceNotFoundException;
 import com.rest.playlist.model.Artist;
 import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.repository.SongRepository;
 import com.rest.playlist.service.ArtistServiceImpl;
+import com.rest.playlist.service.ISongSearchService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import java.util.ArrayList;
@@ -29,6 +32,9 @@ public class ArtistServiceUnitTest {
     @MockBean
     private ArtistRepository artistRepository;
 
+    @MockBean
+    private SongRepository songRepository;
+
     private ArtistServiceImpl playlistService;
 
     private Artist myArtist;
@@ -37,7 +43,8 @@ public class ArtistServiceUnitTest {
 
     @Before
     public void setup() {
-        playlistService = new ArtistServiceImpl(artistRepository);
+        playlistService = new ArtistServiceImpl(artistRepository, songRepository, mock(ApplicationEventPublisher.class),
+                mock(ISongSearchService.class));
 
         myArtist = new Artist();
         myArtist.setId(2000L);
@@ -122,14 +129,18 @@ public class ArtistServiceUnitTest {
     @Test
     public void testDeleteArtistById() {
         myArtist.setId(1000L);
-        when(artistRepository.findById(myArtist.getId())).thenReturn(Optional.of(myArtist));
+        when(artistRepository.findArtistNameById(myArtist.getId())).thenReturn(Optional.of(myArtist.getName()));
+        when(artistRepository.bulkDeleteById(myArtist.getId())).thenReturn(1);
         playlistService.deleteArtistById(myArtist.getId());
-        verify(artistRepository, times(1)).deleteById(myArtist.getId());
+        verify(songRepository, times(1)).bulkDeleteByArtistId(myArtist.getId());
+        verify(artistRepository, times(1)).bulkDeleteById(myArtist.getId());
+        verify(artistRepository, never()).deleteById(anyLong());
     }
 
     @Test(expected = ResourceNotFoundException.class)
     public void testDeleteArtistWithNonExistingId() {
-        when(artistRepository.findById(4000L)).thenReturn(Optional.empty());
+        when(artistRepository.findArtistNameById(4000L)).thenReturn(Optional.empty());
+        when(artistRepository.bulkDeleteById(4000L)).thenReturn(0);
         playlistService.deleteArtistById(4000L);
     }
 }
@@ -0,0 +1,182 @@
+package com.rest.playlist.service.song;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.search.NameSearchHit;
+import com.rest.playlist.service.IArtistImportService;
+import com.rest.playlist.service.IArtistService;
+import com.rest.playlist.service.INameSearchService;
+import com.rest.playlist.service.ISongBulkService;
+import com.rest.playlist.service.ISongService;
+import com.rest.playlist.web.exception.BadRequestException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * the index follows the writes of the services once they are committed
+ */
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class NameSearchServiceIntegrationTest {
+
+    @Autowired
+    private INameSearchService nameSearchService;
+
+    @Autowired
+    private IArtistService artistService;
+
+    @Autowired
+    private IArtistImportService artistImportService;
+
+    @Autowired
+    private ISongService songService;
+
+    @Autowired
+    private ISongBulkService songBulkService;
+
+    private String word;
+    private Artist artist;
+
+    @Before
+    public void setup() {
+        word = randomWord();
+        Artist newArtist = new Artist();
+        newArtist.setName("Quartet " + word);
+        newArtist.setPopularity(60L);
+        artist = artistService.createArtist(newArtist);
+    }
+
+    @Test
+    public void testCreatedArtistIsFoundByPrefixAndTypo() {
+        assertThat(search(word.substring(0, 5), "artist")).extracting(NameSearchHit::getId).containsExactly(artist.getId());
+        String typo = word.substring(0, 4) + word.substring(5);
+        assertThat(search("quartet " + typo, "ARTIST")).extracting(NameSearchHit::getId).contains(artist.getId());
+    }
+
+    @Test
+    public void testRenamedArtistIsFoundByItsNewNameOnly() {
+        String newWord = randomWord();
+        Artist renamed = new Artist();
+        renamed.setId(artist.getId());
+        renamed.setName("Quartet " + newWord);
+        renamed.setPopularity(61L);
+        artistService.updateArtist(renamed);
+
+        assertThat(search(word, "ARTIST")).isEmpty();
+        assertThat(search(newWord, "ARTIST")).extracting(NameSearchHit::getId).containsExactly(artist.getId());
+    }
+
+    @Test
+    public void testImportedArtistIsFound() {
+        String importedWord = randomWord();
+        Artist imported = new Artist();
+        imported.setName("Trio " + importedWord);
+        imported.setPopularity(30L);
+        artistImportService.importArtists(Collections.singletonList(imported));
+
+        assertThat(search(importedWord, "ARTIST")).extracting(NameSearchHit::getName).containsExactly("Trio " + importedWord);
+    }
+
+    @Test
+    public void testSongsFollowCreatesUpdatesAndDeletes() {
+        Song song = songService.createSong(song("Ballad " + word));
+        assertThat(search(word, "SONG")).extracting(NameSearchHit::getId).containsExactly(song.getId());
+        assertThat(search(word, "SONG").get(0).getArtistId()).isEqualTo(artist.getId());
+
+        String newWord = randomWord();
+        song.setTitle("Ballad " + newWord);
+        songService.updateSong(song);
+        assertThat(search(word, "SONG")).isEmpty();
+        assertThat(search(newWord, "SONG")).extracting(NameSearchHit::getId).containsExactly(song.getId());
+
+        songService.deleteSongById(song.getId());
+        assertThat(search(newWord, "SONG")).isEmpty();
+    }
+
+    @Test
+    public void testSongsWrittenInARowAreAllFollowed() {
+        List<Song> songs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            songs.add(songService.createSong(song("Ballad " + word)));
+        }
+        String newWord = randomWord();
+        Song renamed = songs.get(1);
+        renamed.setTitle("Ballad " + newWord);
+        songService.updateSong(renamed);
+        songService.deleteSongById(songs.get(0).getId());
+
+        assertThat(search(word, "SONG")).extracting(NameSearchHit::getId)
+                .containsExactlyInAnyOrder(songs.get(2).getId(), songs.get(3).getId(), songs.get(4).getId());
+        assertThat(search(newWord, "SONG")).extracting(NameSearchHit::getId).containsExactly(renamed.getId());
+    }
+
+    @Test
+    public void testBulkDeleteAndArtistDeleteRemoveTheSongs() {
+        songService.createSong(song("Ballad " + word));
+        songService.createSong(song("Anthem " + word));
+        assertThat(search(word, "SONG")).hasSize(2);
+
+        songBulkService.deleteSongs(artist.getId(), "POP");
+        assertThat(search(word, "SONG")).isEmpty();
+
+        songService.createSong(song("Elegy " + word));
+        artistService.deleteArtistById(artist.getId());
+        assertThat(search(word, null)).isEmpty();
+    }
+
+    @Test
+    public void testReindexKeepsTheNames() {
+        nameSearchService.reindex();
+        assertThat(search(word, "ARTIST")).extracting(NameSearchHit::getId).containsExactly(artist.getId());
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testUnknownType() {
+        nameSearchService.searchNames(word, "ALBUM", 10);
+    }
+
+    private List<NameSearchHit> search(String query, String type) {
+        try {
+            assertThat(nameSearchService.awaitSynced(Duration.ofSeconds(10))).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        return nameSearchService.searchNames(query, type, 10);
+    }
+
+    private Song song(String title) {
+        Artist reference = new Artist();
+        reference.setId(artist.getId());
+        Song song = new Song();
+        song.setTitle(title);
+        song.setDescription("Name search");
+        song.setCategory(SongCategory.POP);
+        song.setDuration("3:01");
+        song.setArtist(reference);
+        return song;
+    }
+
+    /**
+     * a word of 10 letters that no other name of the test database shares
+     */
+    private static String randomWord() {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            word.append((char) ('a' + ThreadLocalRandom.current().nextInt(26)));
+        }
+        return word.toString();
+    }
+}
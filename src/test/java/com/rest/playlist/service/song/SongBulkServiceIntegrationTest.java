@@ -0,0 +1,183 @@
+package com.rest.playlist.service.song;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.repository.SongRepository;
+import com.rest.playlist.service.ISongBulkService;
+import com.rest.playlist.service.SongBulkResult;
+import com.rest.playlist.web.exception.BadRequestException;
+import com.rest.playlist.web.exception.ServiceExceptionHandler;
+import com.rest.playlist.web.resource.SongBulkResource;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * the chunks hold 2 songs : 5 songs of an artist take 3 chunks
+ */
+@SpringBootTest(properties = "playlist.bulk.chunk-size=2")
+@RunWith(SpringRunner.class)
+public class SongBulkServiceIntegrationTest {
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private ISongBulkService songBulkService;
+
+    @Autowired
+    private ServiceExceptionHandler serviceExceptionHandler;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MockMvc mockMvc;
+
+    private Artist artist;
+    private Artist otherArtist;
+    private List<Song> songs;
+
+    @Before
+    public void setup() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new SongBulkResource(songBulkService))
+                .setControllerAdvice(serviceExceptionHandler)
+                .build();
+
+        artist = artist("Bulk Artist " + System.nanoTime());
+        otherArtist = artist("Other Bulk Artist " + System.nanoTime());
+        songs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            songs.add(song("Bulk song #" + i, i < 4 ? SongCategory.POP : SongCategory.JAZZ, artist));
+        }
+        song("Other bulk song", SongCategory.POP, otherArtist);
+    }
+
+    @Test
+    public void testDeleteSongsOfArtist() {
+        // the songs are in the second-level cache
+        songs.forEach(song -> assertThat(songRepository.findById(song.getId())).isPresent());
+
+        SongBulkResult result = songBulkService.deleteSongs(artist.getId(), null);
+
+        assertThat(result.getAffected()).isEqualTo(5);
+        assertThat(result.getChunks()).isEqualTo(3);
+        songs.forEach(song -> assertThat(songRepository.findById(song.getId())).isNotPresent());
+        assertThat(songRepository.findSongsByArtist_Name(otherArtist.getName())).hasSize(1);
+        assertThat(artistRepository.findById(artist.getId())).isPresent();
+    }
+
+    @Test
+    public void testDeleteSongsOfArtistAndCategory() {
+        SongBulkResult result = songBulkService.deleteSongs(artist.getId(), "jazz");
+
+        assertThat(result.getAffected()).isEqualTo(1);
+        assertThat(songRepository.findSongsByArtist_Name(artist.getName()))
+                .extracting(Song::getCategory)
+                .containsOnly(SongCategory.POP)
+                .hasSize(4);
+    }
+
+    @Test
+    public void testUpdateSongsCategoryOfArtist() {
+        Instant before = Instant.now();
+
+        SongBulkResult result = songBulkService.updateSongsCategory("POP", "CLASSICAL", artist.getId());
+
+        assertThat(result.getAffected()).isEqualTo(4);
+        List<Song> artistSongs = songRepository.findSongsByArtist_Name(artist.getName());
+        assertThat(artistSongs).extracting(Song::getCategory)
+                .containsOnly(SongCategory.CLASSICAL, SongCategory.JAZZ);
+        assertThat(artistSongs).filteredOn(song -> song.getCategory() == SongCategory.CLASSICAL)
+                .hasSize(4)
+                .allSatisfy(song -> assertThat(song.getUpdatedAt()).isAfterOrEqualTo(before));
+        assertThat(songRepository.findSongsByArtist_Name(otherArtist.getName()))
+                .extracting(Song::getCategory)
+                .containsExactly(SongCategory.POP);
+    }
+
+    /**
+     * a matching song between the ids read by a chunk (inserted meanwhile) is not in its keys : it is left in place
+     */
+    @Test
+    public void testChunkStatementsChangeOnlyTheIdsRead() {
+        List<Long> ids = Arrays.asList(songs.get(0).getId(), songs.get(2).getId());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        int moved = transactionTemplate.execute(status -> songRepository.bulkUpdateCategoryByFilter(artist.getId(),
+                SongCategory.POP, ids, SongCategory.CLASSICAL, Instant.now()));
+        int deleted = transactionTemplate.execute(status -> songRepository.bulkDeleteByFilter(artist.getId(), null, ids));
+
+        assertThat(moved).isEqualTo(2);
+        assertThat(deleted).isEqualTo(2);
+        assertThat(songRepository.findById(songs.get(1).getId())).isPresent()
+                .get().hasFieldOrPropertyWithValue("category", SongCategory.POP);
+        assertThat(songRepository.findSongsByArtist_Name(artist.getName())).hasSize(3);
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testDeleteSongsWithoutFilter() {
+        songBulkService.deleteSongs(null, null);
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testUpdateSongsWithUnknownCategory() {
+        songBulkService.updateSongsCategory("POP", "ROCK", artist.getId());
+    }
+
+    @Test
+    public void testBulkEndpoints() throws Exception {
+        mockMvc.perform(put("/api/songs/bulk/category/{category}", "JAZZ")
+                .param("to", "POP")
+                .param("artistId", artist.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1));
+
+        mockMvc.perform(delete("/api/songs/bulk").param("artistId", artist.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(5))
+                .andExpect(jsonPath("$.chunks").value(3));
+
+        mockMvc.perform(delete("/api/songs/bulk"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Artist artist(String name) {
+        Artist artist = new Artist();
+        artist.setName(name.substring(0, Math.min(name.length(), 50)));
+        artist.setPopularity(50L);
+        return artistRepository.saveAndFlush(artist);
+    }
+
+    private Song song(String title, SongCategory category, Artist artist) {
+        Song song = new Song();
+        song.setTitle(title);
+        song.setDescription("Bulk operations");
+        song.setCategory(category);
+        song.setDuration("3:01");
+        song.setArtist(artist);
+        return songRepository.saveAndFlush(song);
+    }
+}
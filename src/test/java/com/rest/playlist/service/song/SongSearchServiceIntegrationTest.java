@@ -0,0 +1,184 @@
+package com.rest.playlist.service.song;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.search.SongSearchHit;
+import com.rest.playlist.search.SongSearchResult;
+import com.rest.playlist.service.IArtistService;
+import com.rest.playlist.service.ISongBulkService;
+import com.rest.playlist.service.ISongSearchService;
+import com.rest.playlist.service.ISongService;
+import com.rest.playlist.service.SongSearchServiceImpl;
+import com.rest.playlist.web.exception.BadRequestException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * the index follows the writes of the services as soon as they are committed (read-sync)
+ */
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class SongSearchServiceIntegrationTest {
+
+    @Autowired
+    private ISongSearchService songSearchService;
+
+    @Autowired
+    private IArtistService artistService;
+
+    @Autowired
+    private ISongService songService;
+
+    @Autowired
+    private ISongBulkService songBulkService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String word;
+    private Artist artist;
+
+    @Before
+    public void setup() {
+        word = randomWord();
+        Artist newArtist = new Artist();
+        newArtist.setName("Choir " + word);
+        newArtist.setPopularity(60L);
+        artist = artistService.createArtist(newArtist);
+    }
+
+    @Test
+    public void testTitleMatchRanksBeforeDescriptionMatch() {
+        Song inDescription = songService.createSong(song("Anthem", "A slow ballad " + word));
+        Song inTitle = songService.createSong(song("Ballad " + word, "Full-text search"));
+
+        SongSearchResult result = songSearchService.searchSongs(word, 0, 10);
+        assertThat(result.getTotal()).isEqualTo(2);
+        assertThat(ids(result)).containsExactly(inTitle.getId(), inDescription.getId());
+        assertThat(result.getHits().get(0).getScore()).isGreaterThan(result.getHits().get(1).getScore());
+        assertThat(result.getHits().get(0).getSong().getArtist().getName()).isEqualTo("Choir " + word);
+    }
+
+    @Test
+    public void testEveryWordMustMatchIgnoringCaseAndAccents() {
+        Song song = songService.createSong(song("Café " + word, "Full-text search"));
+        songService.createSong(song("Bistro " + word, "Full-text search"));
+
+        assertThat(ids(songSearchService.searchSongs("CAFE " + word.toUpperCase(), 0, 10))).containsExactly(song.getId());
+        assertThat(songSearchService.searchSongs("bistro " + word + " missing", 0, 10).getHits()).isEmpty();
+        assertThat(songSearchService.searchSongs(word, 0, 10).getTotal()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSongsFollowCreatesUpdatesAndDeletes() {
+        Song song = songService.createSong(song("Ballad " + word, "Full-text search"));
+        assertThat(ids(songSearchService.searchSongs(word, 0, 10))).containsExactly(song.getId());
+
+        String newWord = randomWord();
+        song.setTitle("Ballad " + newWord);
+        songService.updateSong(song);
+        assertThat(songSearchService.searchSongs(word, 0, 10).getHits()).isEmpty();
+        assertThat(ids(songSearchService.searchSongs(newWord, 0, 10))).containsExactly(song.getId());
+
+        songService.deleteSongById(song.getId());
+        assertThat(songSearchService.searchSongs(newWord, 0, 10).getHits()).isEmpty();
+    }
+
+    @Test
+    public void testBatchCreateIndexesEverySong() {
+        List<Song> songs = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            songs.add(song("Chorus " + word + " " + i, "Full-text search"));
+        }
+        songService.createSongs(songs);
+
+        assertThat(songSearchService.searchSongs(word, 0, 10).getTotal()).isEqualTo(120);
+        assertThat(songSearchService.searchSongs(word, 11, 10).getHits()).hasSize(10);
+    }
+
+    @Test
+    public void testBulkDeleteAndArtistDeleteRemoveTheSongs() {
+        songService.createSong(song("Ballad " + word, "Full-text search"));
+        songService.createSong(song("Anthem " + word, "Full-text search"));
+        assertThat(songSearchService.searchSongs(word, 0, 10).getTotal()).isEqualTo(2);
+
+        songBulkService.deleteSongs(artist.getId(), "POP");
+        assertThat(songSearchService.searchSongs(word, 0, 10).getTotal()).isZero();
+
+        songService.createSong(song("Elegy " + word, "Full-text search"));
+        artistService.deleteArtistById(artist.getId());
+        assertThat(songSearchService.searchSongs(word, 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    public void testReindexKeepsTheSongs() {
+        Song song = songService.createSong(song("Ballad " + word, "Full-text search"));
+
+        assertThat(songSearchService.reindex().getSongs()).isPositive();
+        assertThat(ids(songSearchService.searchSongs(word, 0, 10))).containsExactly(song.getId());
+    }
+
+    @Test
+    public void testSearchIsTimed() {
+        Timer timer = meterRegistry.get(SongSearchServiceImpl.METRIC_NAME).tag("phase", "total").timer();
+        long count = timer.count();
+
+        songSearchService.searchSongs(word, 0, 10);
+        assertThat(timer.count()).isEqualTo(count + 1);
+        assertThat(meterRegistry.get(SongSearchServiceImpl.METRIC_NAME).tag("phase", "index").timer().count()).isPositive();
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testBlankQuery() {
+        songSearchService.searchSongs(" ", 0, 10);
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testPageBeyondResultWindow() {
+        songSearchService.searchSongs(word, 1000, 100);
+    }
+
+    private static List<Long> ids(SongSearchResult result) {
+        List<Long> ids = new ArrayList<>();
+        for (SongSearchHit hit : result.getHits()) {
+            ids.add(hit.getSong().getId());
+        }
+        return ids;
+    }
+
+    private Song song(String title, String description) {
+        Artist reference = new Artist();
+        reference.setId(artist.getId());
+        Song song = new Song();
+        song.setTitle(title);
+        song.setDescription(description);
+        song.setCategory(SongCategory.POP);
+        song.setDuration("3:01");
+        song.setArtist(reference);
+        return song;
+    }
+
+    /**
+     * a word of 10 letters that no other song of the test database shares
+     */
+    private static String randomWord() {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            word.append((char) ('a' + ThreadLocalRandom.current().nextInt(26)));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,189 @@
+package com.rest.playlist.service.song;
+
+import com.rest.playlist.config.CacheConfig;
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.service.IArtistService;
+import com.rest.playlist.service.ISongService;
+import com.rest.playlist.service.SongListCache;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * the result caches are disabled in the other tests (spring.cache.type=none),
+ * they are enabled here to check the eviction done by the service writes
+ */
+@SpringBootTest(properties = "spring.cache.type=caffeine")
+@RunWith(SpringRunner.class)
+public class SongServiceCacheIntegrationTest {
+
+    @Autowired
+    private ISongService songService;
+
+    @Autowired
+    private IArtistService artistService;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private SongListCache songListCache;
+
+    private Artist artist;
+
+    @Before
+    public void setup() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        Artist myArtist = new Artist();
+        myArtist.setName("Cache Artist " + System.nanoTime() % 100000);
+        myArtist.setPopularity(30L);
+        artist = artistRepository.saveAndFlush(myArtist);
+    }
+
+    private Song newSong(SongCategory category) {
+        Song song = new Song();
+        song.setTitle("Cached song");
+        song.setDescription("Result cache");
+        song.setCategory(category);
+        song.setDuration("3:30");
+        song.setArtist(artist);
+        return song;
+    }
+
+    @Test
+    public void testGetSongsByCategoryIsCached() {
+        songService.getSongsByCategory("classical");
+        assertThat(cacheManager.getCache(CacheConfig.SONGS_BY_CATEGORY).get("CLASSICAL")).isNotNull();
+    }
+
+    @Test
+    public void testCachedSongsAreCopiedForEachCaller() {
+        songService.createSong(newSong(SongCategory.POP));
+        Song first = songService.getSongsByArtistName(artist.getName()).get(0);
+        Song cached = songService.getSongsByArtistName(artist.getName()).get(0);
+        cached.setTitle("Changed by a caller");
+        cached.getArtist().setName("Changed by a caller");
+
+        Song next = songService.getSongsByArtistName(artist.getName()).get(0);
+        assertThat(next).isNotSameAs(first).isNotSameAs(cached);
+        assertThat(next.getTitle()).isEqualTo("Cached song");
+        assertThat(next.getArtist().getName()).isEqualTo(artist.getName());
+    }
+
+    @Test
+    public void testListReadBeforeAnEvictionIsNotStored() {
+        List<Song> songs = songListCache.get(CacheConfig.SONGS_BY_CATEGORY, "POP", () -> {
+            List<Song> stale = songService.getSongsByCategory("JAZZ");
+            songService.createSong(newSong(SongCategory.POP));
+            return stale;
+        });
+
+        assertThat(songs).isNotNull();
+        assertThat(cacheManager.getCache(CacheConfig.SONGS_BY_CATEGORY).get("POP")).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.SONGS_BY_CATEGORY).get("JAZZ")).isNotNull();
+    }
+
+    @Test
+    public void testListReadWhileAnotherKeyIsEvictedIsStored() {
+        songListCache.get(CacheConfig.SONGS_BY_CATEGORY, "JAZZ", () -> {
+            List<Song> songs = songService.getSongsByCategory("CLASSICAL");
+            songService.createSong(newSong(SongCategory.POP));
+            return songs;
+        });
+
+        assertThat(cacheManager.getCache(CacheConfig.SONGS_BY_CATEGORY).get("JAZZ")).isNotNull();
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneSelect() throws Exception {
+        CountDownLatch selecting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger selects = new AtomicInteger();
+        Supplier<List<Song>> loader = () -> {
+            selects.incrementAndGet();
+            selecting.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Collections.singletonList(newSong(SongCategory.CLASSICAL));
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Song>> first = executor.submit(() -> songListCache.get(CacheConfig.SONGS_BY_CATEGORY, "CLASSICAL", loader));
+            assertThat(selecting.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<List<Song>> second = executor.submit(() -> songListCache.get(CacheConfig.SONGS_BY_CATEGORY, "CLASSICAL", loader));
+            Thread.sleep(200);
+            release.countDown();
+
+            assertThat(first.get(10, TimeUnit.SECONDS)).hasSize(1);
+            assertThat(second.get(10, TimeUnit.SECONDS)).hasSize(1);
+            assertThat(selects).hasValue(1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCreateSongEvictsOnlyItsKeys() {
+        songService.getSongsByCategory("POP");
+        songService.getSongsByCategory("JAZZ");
+        songService.getSongsByArtistName(artist.getName());
+
+        songService.createSong(newSong(SongCategory.POP));
+
+        assertThat(cacheManager.getCache(CacheConfig.SONGS_BY_CATEGORY).get("POP")).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.SONGS_BY_CATEGORY).get("JAZZ")).isNotNull();
+        assertThat(cacheManager.getCache(CacheConfig.SONGS_BY_ARTIST_NAME).get(artist.getName())).isNull();
+        assertThat(songService.getSongsByArtistName(artist.getName())).hasSize(1);
+    }
+
+    @Test
+    public void testUpdateSongEvictsOldAndNewCategory() {
+        Song song = songService.createSong(newSong(SongCategory.POP));
+        songService.getSongsByCategory("POP");
+        songService.getSongsByCategory("JAZZ");
+
+        song.setCategory(SongCategory.JAZZ);
+        songService.updateSong(song);
+
+        assertThat(cacheManager.getCache(CacheConfig.SONGS_BY_CATEGORY).get("POP")).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.SONGS_BY_CATEGORY).get("JAZZ")).isNull();
+    }
+
+    @Test
+    public void testDeleteArtistEvictsItsSongs() {
+        songService.createSong(newSong(SongCategory.JAZZ));
+        assertThat(songService.getSongsByArtistName(artist.getName())).hasSize(1);
+
+        artistService.deleteArtistById(artist.getId());
+
+        assertThat(cacheManager.getCache(CacheConfig.SONGS_BY_ARTIST_NAME).get(artist.getName())).isNull();
+        assertThat(songService.getSongsByArtistName(artist.getName())).isEmpty();
+    }
+}
@@ -17,6 +17,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -112,6 +114,40 @@ public class SongServiceIntegrationTest {
     }
 
 
+    @Test
+    public void testCreateSongs() {
+        long countBefore = songRepository.count();
+        List<Song> songs = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Song song = new Song();
+            song.setTitle("Batch #" + i);
+            song.setDescription("Batch insert");
+            song.setCategory(SongCategory.CLASSICAL);
+            song.setDuration("4:00");
+            song.setArtist(defaultSong.getArtist());
+            songs.add(song);
+        }
+
+        List<Song> savedSongs = songService.createSongs(songs);
+
+        assertThat(savedSongs).hasSize(120);
+        assertThat(savedSongs).allMatch(song -> song.getId() != null);
+        assertThat(songRepository.count()).isEqualTo(countBefore + 120);
+    }
+
+    @Test(expected = ResourceNotFoundException.class)
+    public void testCreateSongsWithNonExistingArtistId() {
+        Song song = new Song();
+        song.setTitle("Batch");
+        song.setDescription("Batch insert");
+        song.setCategory(SongCategory.CLASSICAL);
+        song.setDuration("4:00");
+        Artist unknownArtist = new Artist();
+        unknownArtist.setId(4000L);
+        song.setArtist(unknownArtist);
+        songService.createSongs(Arrays.asList(defaultSong, song));
+    }
+
     @Test(expected = ResourceNotFoundException.class)
     public void testCreateSongWithNonExistingArtistId() {
         defaultSong.getArtist().setId(4000L);
@@ -0,0 +1,114 @@
+package com.rest.playlist.service.song;
+
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.service.ISongService;
+import com.rest.playlist.service.ServiceMetricsAspect;
+import com.rest.playlist.web.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.validation.ConstraintViolationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@RunWith(SpringRunner.class)
+public class SongServiceMetricsIntegrationTest {
+
+    @Autowired
+    private ISongService songService;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Artist artist;
+
+    @Before
+    public void setup() {
+        Artist myArtist = new Artist();
+        myArtist.setName("Metrics Artist");
+        myArtist.setPopularity(40L);
+        artist = artistRepository.saveAndFlush(myArtist);
+    }
+
+    private Song newSong(String title) {
+        Song song = new Song();
+        song.setTitle(title);
+        song.setDescription("Service metrics");
+        song.setCategory(SongCategory.POP);
+        song.setDuration("3:10");
+        song.setArtist(artist);
+        return song;
+    }
+
+    private long count(String method, String outcome) {
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.METRIC_NAME)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @Test
+    public void testSuccessIsTimed() {
+        Song song = songService.createSong(newSong("Timed song"));
+        long before = count("getSongById", "success");
+
+        songService.getSongById(song.getId());
+
+        assertThat(count("getSongById", "success")).isEqualTo(before + 1);
+    }
+
+    @Test
+    public void testNotFoundIsCounted() {
+        long before = count("getSongById", "not_found");
+
+        assertThatThrownBy(() -> songService.getSongById(-1L)).isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(count("getSongById", "not_found")).isEqualTo(before + 1);
+    }
+
+    @Test
+    public void testValidationErrorIsCounted() {
+        long before = count("createSong", "validation_error");
+
+        assertThatThrownBy(() -> songService.createSong(newSong(null))).hasRootCauseInstanceOf(ConstraintViolationException.class);
+
+        assertThat(count("createSong", "validation_error")).isEqualTo(before + 1);
+    }
+
+    @Test
+    public void testPrometheusEndpoint() throws Exception {
+        songService.getAllSongs();
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("playlist_service_seconds_bucket")))
+                .andExpect(content().string(containsString("method=\"getAllSongs\",outcome=\"success\"")));
+    }
+}
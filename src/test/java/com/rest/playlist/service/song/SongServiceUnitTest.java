@@ -6,6 +6,7 @@ import com.rest.playlist.model.Artist;
 import com.rest.playlist.model.Song;
 import com.rest.playlist.repository.ArtistRepository;
 import com.rest.playlist.repository.SongRepository;
+import com.rest.playlist.service.SongListCache;
 import com.rest.playlist.service.SongServiceImpl;
 import org.junit.Before;
 import org.junit.Test;
@@ -13,6 +14,8 @@ import org.junit.runner.RunWith;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,7 +48,8 @@ public class SongServiceUnitTest {
 
     @Before
     public void setup() {
-        songService = new SongServiceImpl(songRepository, artistRepository);
+        songService = new SongServiceImpl(songRepository, artistRepository, mock(ApplicationEventPublisher.class),
+                new SongListCache(new NoOpCacheManager()));
 
         myArtist = new Artist();
         myArtist.setId(2000L);
@@ -106,6 +110,7 @@ public class SongServiceUnitTest {
     public void testUpdateSong() {
 
         when(artistRepository.findById(2000L)).thenReturn(Optional.of(myArtist));
+        when(artistRepository.getById(2000L)).thenReturn(myArtist);
 
         when(songRepository.findById(mySong.getId())).thenReturn(Optional.of(mySong));
 
@@ -124,6 +129,8 @@ public class SongServiceUnitTest {
         assertThat(updatedSong.getDescription()).isEqualTo(mySong.getDescription());
         assertThat(updatedSong.getCategory()).isEqualTo(mySong.getCategory());
         assertThat(updatedSong.getDuration()).isEqualTo(mySong.getDuration());
+        assertThat(updatedSong.getArtist()).isEqualTo(myArtist);
+        verify(songRepository, never()).saveAndFlush(any(Song.class));
     }
 
 
@@ -172,7 +179,7 @@ public class SongServiceUnitTest {
     public void testDeleteSongById() {
         when(songRepository.findById(mySong.getId())).thenReturn(Optional.of(mySong));
         songService.deleteSongById(mySong.getId());
-        verify(songRepository, times(1)).deleteById(mySong.getId());
+        verify(songRepository, times(1)).delete(mySong);
     }
 
     @Test(expected = ResourceNotFoundException.class)
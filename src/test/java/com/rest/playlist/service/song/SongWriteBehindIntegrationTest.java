@@ -0,0 +1,214 @@
+package com.rest.playlist.service.song;
+
+import com.jayway.jsonpath.JsonPath;
+import com.rest.playlist.enums.SongCategory;
+import com.rest.playlist.model.Artist;
+import com.rest.playlist.model.Song;
+import com.rest.playlist.repository.ArtistRepository;
+import com.rest.playlist.repository.SongRepository;
+import com.rest.playlist.service.ISongService;
+import com.rest.playlist.service.ISongWriteBehindService;
+import com.rest.playlist.service.SongWriteBehindServiceImpl;
+import com.rest.playlist.service.SongWriteBehindStatus;
+import com.rest.playlist.web.exception.ResourceNotFoundException;
+import com.rest.playlist.web.exception.ServiceExceptionHandler;
+import com.rest.playlist.web.exception.TooManyRequestsException;
+import com.rest.playlist.web.resource.SongResource;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.rest.playlist.TestUtils.asJsonString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "playlist.write-behind.enabled=true",
+        "playlist.write-behind.batch-size=20",
+        "playlist.write-behind.max-delay=20ms"
+})
+@RunWith(SpringRunner.class)
+public class SongWriteBehindIntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private ISongWriteBehindService songWriteBehindService;
+
+    @Autowired
+    private ISongService songService;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private ServiceExceptionHandler serviceExceptionHandler;
+
+    private MockMvc mockMvc;
+
+    private Artist artist;
+
+    @Before
+    public void setup() {
+        this.mockMvc = MockMvcBuilders.standaloneSetup(new SongResource(songService, songWriteBehindService))
+                .setControllerAdvice(serviceExceptionHandler)
+                .build();
+
+        Artist newArtist = new Artist();
+        newArtist.setName("Write Behind Artist");
+        newArtist.setPopularity(40L);
+        artist = artistRepository.saveAndFlush(newArtist);
+    }
+
+    @Test
+    public void testCreateSongIsAcceptedThenWritten() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/songs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(asJsonString(song("For The Lover That I Lost"))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.title").value("For The Lover That I Lost"))
+                .andReturn();
+
+        Long id = JsonPath.parse(result.getResponse().getContentAsString()).read("$.id", Long.class);
+        assertThat(id).isNotNull();
+
+        assertThat(songWriteBehindService.awaitWritten(TIMEOUT)).isTrue();
+        Song written = songService.getSongById(id);
+        assertThat(written.getTitle()).isEqualTo("For The Lover That I Lost");
+        assertThat(written.getArtist().getId()).isEqualTo(artist.getId());
+    }
+
+    @Test
+    public void testSubmittedSongsAreWrittenWithTheirIds() throws Exception {
+        long writtenBefore = songWriteBehindService.getStatus().getWritten();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(songWriteBehindService.submit(song("Write behind #" + i)).getId());
+        }
+
+        assertThat(ids).doesNotHaveDuplicates().doesNotContainNull();
+        assertThat(songWriteBehindService.awaitWritten(TIMEOUT)).isTrue();
+
+        List<Long> writtenIds = songRepository.findAllById(ids).stream().map(Song::getId).collect(Collectors.toList());
+        assertThat(writtenIds).containsExactlyInAnyOrderElementsOf(ids);
+
+        SongWriteBehindStatus status = songWriteBehindService.getStatus();
+        assertThat(status.getPending()).isZero();
+        assertThat(status.getWritten()).isEqualTo(writtenBefore + 100);
+    }
+
+    @Test
+    public void testSubmitWithNonExistingArtist() {
+        Song song = song("Unknown artist");
+        song.getArtist().setId(5000L);
+        long acceptedBefore = songWriteBehindService.getStatus().getAccepted();
+
+        assertThatThrownBy(() -> songWriteBehindService.submit(song))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Not found artist with id = 5000");
+        assertThat(songWriteBehindService.getStatus().getAccepted()).isEqualTo(acceptedBefore);
+    }
+
+    @Test
+    public void testStopWritesPendingSongs() {
+        SongWriteBehindServiceImpl lifecycle = (SongWriteBehindServiceImpl) songWriteBehindService;
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ids.add(songWriteBehindService.submit(song("Shutdown #" + i)).getId());
+        }
+
+        lifecycle.stop();
+        try {
+            assertThat(songWriteBehindService.getStatus().getPending()).isZero();
+            assertThat(songRepository.findAllById(ids)).hasSize(50);
+            assertThatThrownBy(() -> songWriteBehindService.submit(song("After shutdown")))
+                    .hasMessage("Song writes are not accepted, the write-behind queue is stopped");
+        } finally {
+            lifecycle.start();
+        }
+    }
+
+    @Test
+    public void testSubmitsRacingStopAreWrittenOrRejected() throws Exception {
+        SongWriteBehindServiceImpl lifecycle = (SongWriteBehindServiceImpl) songWriteBehindService;
+        List<Long> ids = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger refused = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 400; i++) {
+                String title = "Racing stop #" + i;
+                executor.execute(() -> {
+                    try {
+                        ids.add(songWriteBehindService.submit(song(title)).getId());
+                    } catch (TooManyRequestsException e) {
+                        refused.incrementAndGet();
+                    }
+                });
+            }
+            lifecycle.stop();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(TIMEOUT.getSeconds(), TimeUnit.SECONDS)).isTrue();
+
+            assertThat(ids.size() + refused.get()).isEqualTo(400);
+            assertThat(songRepository.findAllById(ids)).hasSize(ids.size());
+        } finally {
+            executor.shutdownNow();
+            lifecycle.start();
+        }
+    }
+
+    @Test
+    public void testSubmitReturnsACopyOfTheQueuedSong() throws Exception {
+        Song accepted = songWriteBehindService.submit(song("Copy Of The Queued Song"));
+        accepted.setTitle("Changed By The Caller");
+
+        assertThat(songWriteBehindService.awaitWritten(TIMEOUT)).isTrue();
+        assertThat(songRepository.findById(accepted.getId()).map(Song::getTitle)).contains("Copy Of The Queued Song");
+    }
+
+    @Test
+    public void testGetPendingWrites() throws Exception {
+        mockMvc.perform(get("/api/songs/pending"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.capacity").value(10000))
+                .andExpect(jsonPath("$.pending").isNumber());
+    }
+
+    private Song song(String title) {
+        Song song = new Song();
+        song.setTitle(title);
+        song.setDescription("Live At Abbey Road Studios");
+        song.setCategory(SongCategory.POP);
+        song.setDuration("3:01");
+        Artist songArtist = new Artist();
+        songArtist.setId(artist.getId());
+        song.setArtist(songArtist);
+        return song;
+    }
+}